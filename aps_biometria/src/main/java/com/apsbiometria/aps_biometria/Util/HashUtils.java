@@ -1,106 +1,106 @@
-package com.apsbiometria.aps_biometria.Util;
-
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
-
-public class HashUtils {
-
-    public static String sha256(String text) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erro ao gerar SHA-256", e);
-        }
-    }
-
-    public static String md5(String text) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("MD5");
-            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erro ao gerar MD5", e);
-        }
-    }
-
-    public static String sha512(String text) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-512");
-            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erro ao gerar SHA-512", e);
-        }
-    }
-
-    public static String hashWithSalt(String text, String salt) {
-        return sha256(text + salt);
-    }
-
-    public static String generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[16];
-        random.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
-    }
-
-    public static String hashPassword(String password) {
-        String salt = generateSalt();
-        String hash = hashWithSalt(password, salt);
-        return salt + "$" + hash;
-    }
-
-    public static boolean verifyPassword(String password, String storedHash) {
-        if (password == null || storedHash == null) {
-            return false;
-        }
-
-        String[] parts = storedHash.split("\\$");
-        if (parts.length != 2) {
-            return false;
-        }
-
-        String salt = parts[0];
-        String hash = parts[1];
-
-        String computedHash = hashWithSalt(password, salt);
-        return computedHash.equals(hash);
-    }
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
-        }
-        return result.toString();
-    }
-
-    public static String generateToken(int length) {
-        SecureRandom random = new SecureRandom();
-        byte[] token = new byte[length];
-        random.nextBytes(token);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
-    }
-
-    public static String generateUniqueId() {
-        return java.util.UUID.randomUUID().toString();
-    }
-
-    public static String encodeBase64(String text) {
-        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public static String decodeBase64(String encoded) {
-        byte[] decoded = Base64.getDecoder().decode(encoded);
-        return new String(decoded, StandardCharsets.UTF_8);
-    }
-
-    public static String checksum(String data) {
-        return sha256(data).substring(0, 8);
-    }
+package com.apsbiometria.aps_biometria.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+public class HashUtils {
+
+    public static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return bytesToHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Erro ao gerar SHA-256", e);
+        }
+    }
+
+    public static String md5(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return bytesToHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Erro ao gerar MD5", e);
+        }
+    }
+
+    public static String sha512(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-512");
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return bytesToHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Erro ao gerar SHA-512", e);
+        }
+    }
+
+    public static String hashWithSalt(String text, String salt) {
+        return sha256(text + salt);
+    }
+
+    public static String generateSalt() {
+        SecureRandom random = new SecureRandom();
+        byte[] salt = new byte[16];
+        random.nextBytes(salt);
+        return Base64.getEncoder().encodeToString(salt);
+    }
+
+    public static String hashPassword(String password) {
+        String salt = generateSalt();
+        String hash = hashWithSalt(password, salt);
+        return salt + "$" + hash;
+    }
+
+    public static boolean verifyPassword(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 2) {
+            return false;
+        }
+
+        String salt = parts[0];
+        String hash = parts[1];
+
+        String computedHash = hashWithSalt(password, salt);
+        return computedHash.equals(hash);
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    public static String generateToken(int length) {
+        SecureRandom random = new SecureRandom();
+        byte[] token = new byte[length];
+        random.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    public static String generateUniqueId() {
+        return java.util.UUID.randomUUID().toString();
+    }
+
+    public static String encodeBase64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeBase64(String encoded) {
+        byte[] decoded = Base64.getDecoder().decode(encoded);
+        return new String(decoded, StandardCharsets.UTF_8);
+    }
+
+    public static String checksum(String data) {
+        return sha256(data).substring(0, 8);
+    }
 }
\ No newline at end of file
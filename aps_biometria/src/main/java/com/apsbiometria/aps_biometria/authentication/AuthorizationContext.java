@@ -0,0 +1,58 @@
+package com.apsbiometria.aps_biometria.authentication;
+
+import com.apsbiometria.aps_biometria.model.AccessLevel;
+import com.apsbiometria.aps_biometria.model.User;
+
+// Resultado de uma verificação de acesso com a sessão já resolvida. Criado uma vez por
+// requisição e repassado para auditoria e geração do relatório, sem novas buscas de sessão.
+public class AuthorizationContext {
+
+    private final String sessionId;
+    private final Session session;
+    private final AccessController.AccessResult result;
+
+    AuthorizationContext(String sessionId, Session session, AccessController.AccessResult result) {
+        this.sessionId = sessionId;
+        this.session = session;
+        this.result = result;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    // null quando a sessão não existe ou já expirou
+    public Session getSession() {
+        return session;
+    }
+
+    public User getUser() {
+        return session != null ? session.getUser() : null;
+    }
+
+    public AccessController.AccessResult getResult() {
+        return result;
+    }
+
+    public boolean isGranted() {
+        return result.isGranted();
+    }
+
+    public AccessLevel getRequiredLevel() {
+        return result.getRequiredLevel();
+    }
+
+    // Negado por falta de sessão válida, independente do nível pedido. Uma sessão inativa não
+    // volta a ficar ativa, então a negação continua valendo
+    public boolean isSessionDenied() {
+        return !result.isGranted() && (session == null || !session.isActive());
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorizationContext{" +
+                "sessionId='" + sessionId + '\'' +
+                ", " + result +
+                '}';
+    }
+}
@@ -1,219 +1,377 @@
-package com.apsbiometria.aps_biometria.authentication;
-
-import java.awt.image.BufferedImage;
-import java.sql.SQLException;
-import java.util.List;
-
-import com.apsbiometria.aps_biometria.biometric.BiometricCapture;
-import com.apsbiometria.aps_biometria.biometric.BiometricMatcher;
-import com.apsbiometria.aps_biometria.biometric.FeatureExtractor;
-import com.apsbiometria.aps_biometria.biometric.ImagePreprocessor;
-import com.apsbiometria.aps_biometria.model.BiometricData;
-import com.apsbiometria.aps_biometria.model.User;
-import com.apsbiometria.aps_biometria.repository.BiometricRepository;
-import com.apsbiometria.aps_biometria.repository.UserRepository;
-
-public class BiometricAuthenticator {
-
-    private final BiometricCapture capture;
-    private final ImagePreprocessor preprocessor;
-    private final FeatureExtractor extractor;
-    private final BiometricMatcher matcher;
-    private final UserRepository userRepo;
-    private final BiometricRepository bioRepo;
-
-    public BiometricAuthenticator() {
-        this.capture = new BiometricCapture();
-        this.preprocessor = new ImagePreprocessor();
-        this.extractor = new FeatureExtractor();
-        this.matcher = new BiometricMatcher();
-        this.userRepo = new UserRepository();
-        this.bioRepo = new BiometricRepository();
-    }
-
-    public static class AuthenticationResult {
-        private boolean authenticated;
-        private User user;
-        private double score;
-        private String message;
-        private BiometricMatcher.MatchResult matchResult;
-
-        public AuthenticationResult(boolean authenticated, User user, double score, String message) {
-            this.authenticated = authenticated;
-            this.user = user;
-            this.score = score;
-            this.message = message;
-        }
-
-        public boolean isAuthenticated() {
-            return authenticated;
-        }
-
-        public User getUser() {
-            return user;
-        }
-
-        public double getScore() {
-            return score;
-        }
-
-        public String getMessage() {
-            return message;
-        }
-
-        public BiometricMatcher.MatchResult getMatchResult() {
-            return matchResult;
-        }
-
-        public void setMatchResult(BiometricMatcher.MatchResult matchResult) {
-            this.matchResult = matchResult;
-        }
-
-        @Override
-        public String toString() {
-            return String.format("Authentication: %s | User: %s | Score: %.2f%% | %s",
-                    authenticated ? "SUCCESS" : "FAILED",
-                    user != null ? user.getName() : "N/A",
-                    score * 100,
-                    message);
-        }
-    }
-
-    public BiometricData enrollBiometric(String userId, BufferedImage image, String biometricType)
-            throws SQLException {
-        if (!capture.validateImageQuality(image)) {
-            throw new IllegalArgumentException("Qualidade da imagem insuficiente para cadastro");
-        }
-        BiometricData bioData = extractor.extractFeatures(image, userId);
-        bioData.setBiometricType(biometricType);
-        if (bioData.getQualityScore() < 60.0) {
-            throw new IllegalArgumentException(
-                    String.format("Qualidade biométrica muito baixa: %.2f%% (mínimo: 60%%)",
-                            bioData.getQualityScore()));
-        }
-        bioData = bioRepo.create(bioData);
-        System.out.println("✓ Biometria cadastrada: " + bioData.getId() +
-                " | Qualidade: " + String.format("%.2f%%", bioData.getQualityScore()));
-        return bioData;
-    }
-
-    public BiometricData enrollBiometricFromFile(String userId, String imagePath, String biometricType)
-            throws Exception {
-        BufferedImage image = capture.captureFromFile(imagePath);
-        return enrollBiometric(userId, image, biometricType);
-    }
-
-    public AuthenticationResult authenticateUser(String userId, BufferedImage image)
-            throws SQLException {
-        User user = userRepo.findById(userId);
-        if (user == null) {
-            return new AuthenticationResult(false, null, 0.0, "Usuário não encontrado");
-        }
-        if (!user.isActive()) {
-            return new AuthenticationResult(false, user, 0.0, "Usuário inativo");
-        }
-        if (user.isLocked()) {
-            return new AuthenticationResult(false, user, 0.0,
-                    "Usuário bloqueado por excesso de tentativas falhadas");
-        }
-        if (!capture.validateImageQuality(image)) {
-            return new AuthenticationResult(false, user, 0.0, "Qualidade da imagem insuficiente");
-        }
-        BiometricData sample = extractor.extractFeatures(image, userId);
-        List<BiometricData> enrolledData = bioRepo.findByUserId(userId);
-        if (enrolledData.isEmpty()) {
-            return new AuthenticationResult(false, user, 0.0,
-                    "Nenhuma biometria cadastrada para este usuário");
-        }
-        BiometricData bestEnrolled = enrolledData.stream()
-                .max((a, b) -> Double.compare(a.getQualityScore(), b.getQualityScore()))
-                .orElse(enrolledData.get(0));
-        BiometricMatcher.MatchResult matchResult = matcher.verify(sample, bestEnrolled);
-        AuthenticationResult result;
-        if (matchResult.isMatched()) {
-            result = new AuthenticationResult(true, user, matchResult.getScore(),
-                    "Autenticação bem-sucedida");
-        } else {
-            result = new AuthenticationResult(false, user, matchResult.getScore(),
-                    "Biometria não reconhecida");
-        }
-        result.setMatchResult(matchResult);
-        return result;
-    }
-
-    public AuthenticationResult identifyUser(BufferedImage image) throws SQLException {
-        if (!capture.validateImageQuality(image)) {
-            return new AuthenticationResult(false, null, 0.0, "Qualidade da imagem insuficiente");
-        }
-        BiometricData sample = extractor.extractFeatures(image, "unknown");
-        List<BiometricData> database = bioRepo.findAll();
-        if (database.isEmpty()) {
-            return new AuthenticationResult(false, null, 0.0,
-                    "Nenhuma biometria cadastrada no sistema");
-        }
-        BiometricData[] dbArray = database.toArray(new BiometricData[0]);
-        BiometricMatcher.MatchResult matchResult = matcher.identify(sample, dbArray);
-        if (matchResult.isMatched()) {
-            User user = userRepo.findById(matchResult.getMatchedUserId());
-            if (user != null && user.isActive() && !user.isLocked()) {
-                AuthenticationResult result = new AuthenticationResult(true, user,
-                        matchResult.getScore(), "Usuário identificado com sucesso");
-                result.setMatchResult(matchResult);
-                return result;
-            }
-        }
-        return new AuthenticationResult(false, null, matchResult.getScore(),
-                "Não foi possível identificar o usuário");
-    }
-
-    public AuthenticationResult authenticateFromFile(String userId, String imagePath)
-            throws Exception {
-        BufferedImage image = capture.captureFromFile(imagePath);
-        return authenticateUser(userId, image);
-    }
-
-    public AuthenticationResult identifyFromFile(String imagePath) throws Exception {
-        BufferedImage image = capture.captureFromFile(imagePath);
-        return identifyUser(image);
-    }
-
-    public BiometricData updateBiometric(String biometricId, BufferedImage newImage)
-            throws SQLException {
-        BiometricData existing = bioRepo.findById(biometricId);
-        if (existing == null) {
-            throw new IllegalArgumentException("Biometria não encontrada: " + biometricId);
-        }
-        BiometricData newData = extractor.extractFeatures(newImage, existing.getUserId());
-        if (newData.getQualityScore() < 60.0) {
-            throw new IllegalArgumentException("Qualidade insuficiente para atualização");
-        }
-        existing.setFeatureVector(newData.getFeatureVector());
-        existing.setTemplate(newData.getTemplate());
-        existing.setQualityScore(newData.getQualityScore());
-        bioRepo.update(existing);
-        System.out.println("✓ Biometria atualizada: " + biometricId);
-        return existing;
-    }
-
-    public boolean removeBiometric(String biometricId) throws SQLException {
-        return bioRepo.softDelete(biometricId);
-    }
-
-    public String generateAuthReport(AuthenticationResult result) {
-        StringBuilder report = new StringBuilder();
-        report.append("===== RELATÓRIO DE AUTENTICAÇÃO =====\n");
-        report.append("Status: ").append(result.isAuthenticated() ? "SUCESSO" : "FALHA").append("\n");
-        if (result.getUser() != null) {
-            report.append("Usuário: ").append(result.getUser().getName()).append("\n");
-            report.append("Email: ").append(result.getUser().getEmail()).append("\n");
-            report.append("Nível de Acesso: ").append(result.getUser().getAccessLevel().toDisplayString()).append("\n");
-        }
-        report.append("Score: ").append(String.format("%.2f%%", result.getScore() * 100)).append("\n");
-        report.append("Mensagem: ").append(result.getMessage()).append("\n");
-        if (result.getMatchResult() != null) {
-            report.append("\n").append(matcher.generatePerformanceReport(result.getMatchResult()));
-        }
-        report.append("====================================\n");
-        return report.toString();
-    }
-}
+package com.apsbiometria.aps_biometria.authentication;
+
+import java.awt.image.BufferedImage;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.apsbiometria.aps_biometria.biometric.BiometricCapture;
+import com.apsbiometria.aps_biometria.biometric.BiometricMatcher;
+import com.apsbiometria.aps_biometria.biometric.FeatureExtractor;
+import com.apsbiometria.aps_biometria.biometric.FrameSelector;
+import com.apsbiometria.aps_biometria.biometric.FrameStream;
+import com.apsbiometria.aps_biometria.biometric.ImagePreprocessor;
+import com.apsbiometria.aps_biometria.model.BiometricData;
+import com.apsbiometria.aps_biometria.model.User;
+import com.apsbiometria.aps_biometria.repository.BiometricGallery;
+import com.apsbiometria.aps_biometria.repository.BiometricRepository;
+import com.apsbiometria.aps_biometria.repository.UserRepository;
+
+public class BiometricAuthenticator {
+
+    private static final int VIDEO_CANDIDATE_FRAMES = 5;
+    // Frames avaliados no máximo por vídeo; o resto nem é decodificado
+    private static final int VIDEO_SCAN_BUDGET = 30;
+    // Score do FrameSelector a partir do qual o frame vai direto para a extração
+    private static final double GOOD_FRAME_SCORE = 0.8;
+    private static final double GOOD_ENROLLMENT_QUALITY = 80.0;
+
+    private final BiometricCapture capture;
+    private final ImagePreprocessor preprocessor;
+    private final FeatureExtractor extractor;
+    private final BiometricMatcher matcher;
+    private final UserRepository userRepo;
+    private final BiometricRepository bioRepo;
+    private final FrameSelector frameSelector;
+
+    public BiometricAuthenticator() {
+        this.capture = new BiometricCapture();
+        this.preprocessor = new ImagePreprocessor();
+        this.extractor = new FeatureExtractor();
+        this.matcher = new BiometricMatcher();
+        this.userRepo = new UserRepository();
+        this.bioRepo = new BiometricRepository();
+        this.frameSelector = new FrameSelector();
+    }
+
+    public static class AuthenticationResult {
+        private boolean authenticated;
+        private User user;
+        private double score;
+        private String message;
+        private BiometricMatcher.MatchResult matchResult;
+
+        public AuthenticationResult(boolean authenticated, User user, double score, String message) {
+            this.authenticated = authenticated;
+            this.user = user;
+            this.score = score;
+            this.message = message;
+        }
+
+        public boolean isAuthenticated() {
+            return authenticated;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public BiometricMatcher.MatchResult getMatchResult() {
+            return matchResult;
+        }
+
+        public void setMatchResult(BiometricMatcher.MatchResult matchResult) {
+            this.matchResult = matchResult;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Authentication: %s | User: %s | Score: %.2f%% | %s",
+                    authenticated ? "SUCCESS" : "FAILED",
+                    user != null ? user.getName() : "N/A",
+                    score * 100,
+                    message);
+        }
+    }
+
+    public BiometricData enrollBiometric(String userId, BufferedImage image, String biometricType)
+            throws SQLException {
+        if (!capture.validateImageQuality(image)) {
+            throw new IllegalArgumentException("Qualidade da imagem insuficiente para cadastro");
+        }
+        return saveEnrollment(extractor.extractFeatures(image, userId), biometricType);
+    }
+
+    // Extrai só os candidatos do FrameSelector e fica com o de maior qualidade; para assim que
+    // um frame atinge GOOD_ENROLLMENT_QUALITY
+    public BiometricData enrollBiometricFromFrames(String userId, Iterator<BufferedImage> frames,
+            String biometricType) throws SQLException {
+        Iterator<FrameSelector.ScoredFrame> candidates = videoCandidates(frames);
+        if (!candidates.hasNext()) {
+            throw new IllegalArgumentException("Qualidade da imagem insuficiente para cadastro");
+        }
+
+        BiometricData best = null;
+        while (candidates.hasNext()) {
+            FrameSelector.ScoredFrame candidate = candidates.next();
+            BiometricData data = extractor.extractFeatures(candidate.getImage(), userId);
+            if (best == null || data.getQualityScore() > best.getQualityScore()) {
+                best = data;
+            }
+            if (data.getQualityScore() >= GOOD_ENROLLMENT_QUALITY) {
+                break;
+            }
+        }
+
+        return saveEnrollment(best, biometricType);
+    }
+
+    public BiometricData enrollBiometricFromVideo(String userId, String videoFramesPath, String biometricType)
+            throws Exception {
+        try (FrameStream frames = capture.streamFromVideo(videoFramesPath)) {
+            return enrollBiometricFromFrames(userId, frames, biometricType);
+        }
+    }
+
+    private Iterator<FrameSelector.ScoredFrame> videoCandidates(Iterator<BufferedImage> frames) {
+        return frameSelector.candidates(frames, VIDEO_CANDIDATE_FRAMES, VIDEO_SCAN_BUDGET, GOOD_FRAME_SCORE);
+    }
+
+    private BiometricData saveEnrollment(BiometricData bioData, String biometricType) throws SQLException {
+        bioData.setBiometricType(biometricType);
+        if (bioData.getQualityScore() < 60.0) {
+            throw new IllegalArgumentException(
+                    String.format("Qualidade biométrica muito baixa: %.2f%% (mínimo: 60%%)",
+                            bioData.getQualityScore()));
+        }
+        bioData = bioRepo.create(bioData);
+        System.out.println("✓ Biometria cadastrada: " + bioData.getId() +
+                " | Qualidade: " + String.format("%.2f%%", bioData.getQualityScore()));
+        return bioData;
+    }
+
+    public BiometricData enrollBiometricFromFile(String userId, String imagePath, String biometricType)
+            throws Exception {
+        BufferedImage image = capture.captureFromFile(imagePath);
+        return enrollBiometric(userId, image, biometricType);
+    }
+
+    public AuthenticationResult authenticateUser(String userId, BufferedImage image)
+            throws SQLException {
+        User user = userRepo.findById(userId);
+        AuthenticationResult rejected = checkUser(user);
+        if (rejected != null) {
+            return rejected;
+        }
+        if (!capture.validateImageQuality(image)) {
+            return new AuthenticationResult(false, user, 0.0, "Qualidade da imagem insuficiente");
+        }
+        BiometricData sample = extractor.extractFeatures(image, userId);
+        List<BiometricData> enrolledData = bioRepo.findByUserId(userId);
+        if (enrolledData.isEmpty()) {
+            return new AuthenticationResult(false, user, 0.0,
+                    "Nenhuma biometria cadastrada para este usuário");
+        }
+        BiometricData bestEnrolled = enrolledData.stream()
+                .max((a, b) -> Double.compare(a.getQualityScore(), b.getQualityScore()))
+                .orElse(enrolledData.get(0));
+        BiometricMatcher.MatchResult matchResult = matcher.verify(sample, bestEnrolled);
+        AuthenticationResult result;
+        if (matchResult.isMatched()) {
+            result = new AuthenticationResult(true, user, matchResult.getScore(),
+                    "Autenticação bem-sucedida");
+        } else {
+            result = new AuthenticationResult(false, user, matchResult.getScore(),
+                    "Biometria não reconhecida");
+        }
+        result.setMatchResult(matchResult);
+        return result;
+    }
+
+    // Verificação por vídeo: um frame bom é extraído assim que aparece, sem esperar o resto do
+    // vídeo; a leitura é limitada a VIDEO_SCAN_BUDGET frames e para no primeiro match
+    public AuthenticationResult authenticateFrames(String userId, Iterator<BufferedImage> frames)
+            throws SQLException {
+        User user = userRepo.findById(userId);
+        AuthenticationResult rejected = checkUser(user);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<BiometricData> enrolledData = bioRepo.findByUserId(userId);
+        if (enrolledData.isEmpty()) {
+            return new AuthenticationResult(false, user, 0.0,
+                    "Nenhuma biometria cadastrada para este usuário");
+        }
+        Iterator<FrameSelector.ScoredFrame> candidates = videoCandidates(frames);
+        if (!candidates.hasNext()) {
+            return new AuthenticationResult(false, user, 0.0, "Qualidade da imagem insuficiente");
+        }
+        BiometricData bestEnrolled = enrolledData.stream()
+                .max((a, b) -> Double.compare(a.getQualityScore(), b.getQualityScore()))
+                .orElse(enrolledData.get(0));
+
+        BiometricMatcher.MatchResult best = null;
+        while (candidates.hasNext()) {
+            FrameSelector.ScoredFrame candidate = candidates.next();
+            BiometricData sample = extractor.extractFeatures(candidate.getImage(), userId);
+            BiometricMatcher.MatchResult matchResult = matcher.verify(sample, bestEnrolled);
+            if (best == null || matchResult.getScore() > best.getScore()) {
+                best = matchResult;
+            }
+            if (matchResult.isMatched()) {
+                break;
+            }
+        }
+
+        AuthenticationResult result = best.isMatched()
+                ? new AuthenticationResult(true, user, best.getScore(), "Autenticação bem-sucedida")
+                : new AuthenticationResult(false, user, best.getScore(), "Biometria não reconhecida");
+        result.setMatchResult(best);
+        return result;
+    }
+
+    public AuthenticationResult authenticateFromVideo(String userId, String videoFramesPath) throws Exception {
+        try (FrameStream frames = capture.streamFromVideo(videoFramesPath)) {
+            return authenticateFrames(userId, frames);
+        }
+    }
+
+    public AuthenticationResult identifyFrames(Iterator<BufferedImage> frames) throws SQLException {
+        Iterator<FrameSelector.ScoredFrame> candidates = videoCandidates(frames);
+        if (!candidates.hasNext()) {
+            return new AuthenticationResult(false, null, 0.0, "Qualidade da imagem insuficiente");
+        }
+        BiometricGallery gallery = bioRepo.loadGallery();
+        if (gallery.isEmpty()) {
+            return new AuthenticationResult(false, null, 0.0,
+                    "Nenhuma biometria cadastrada no sistema");
+        }
+
+        double bestScore = 0.0;
+        while (candidates.hasNext()) {
+            FrameSelector.ScoredFrame candidate = candidates.next();
+            BiometricData sample = extractor.extractFeatures(candidate.getImage(), "unknown");
+            BiometricMatcher.MatchResult matchResult = gallery.identify(matcher, sample);
+            bestScore = Math.max(bestScore, matchResult.getScore());
+            if (!matchResult.isMatched()) {
+                continue;
+            }
+            User user = userRepo.findById(matchResult.getMatchedUserId());
+            if (user != null && user.isActive() && !user.isLocked()) {
+                AuthenticationResult result = new AuthenticationResult(true, user,
+                        matchResult.getScore(), "Usuário identificado com sucesso");
+                result.setMatchResult(matchResult);
+                return result;
+            }
+            // Proposital: os frames são da mesma pessoa, e ela casou com um usuário inativo ou
+            // bloqueado. Tentar os outros frames só abriria chance de aceitá-la como outro usuário.
+            break;
+        }
+        return new AuthenticationResult(false, null, bestScore,
+                "Não foi possível identificar o usuário");
+    }
+
+    public AuthenticationResult identifyFromVideo(String videoFramesPath) throws Exception {
+        try (FrameStream frames = capture.streamFromVideo(videoFramesPath)) {
+            return identifyFrames(frames);
+        }
+    }
+
+    private AuthenticationResult checkUser(User user) {
+        if (user == null) {
+            return new AuthenticationResult(false, null, 0.0, "Usuário não encontrado");
+        }
+        if (!user.isActive()) {
+            return new AuthenticationResult(false, user, 0.0, "Usuário inativo");
+        }
+        if (user.isLocked()) {
+            return new AuthenticationResult(false, user, 0.0,
+                    "Usuário bloqueado por excesso de tentativas falhadas");
+        }
+        return null;
+    }
+
+    public AuthenticationResult identifyUser(BufferedImage image) throws SQLException {
+        if (!capture.validateImageQuality(image)) {
+            return new AuthenticationResult(false, null, 0.0, "Qualidade da imagem insuficiente");
+        }
+        BiometricData sample = extractor.extractFeatures(image, "unknown");
+        BiometricGallery gallery = bioRepo.loadGallery();
+        if (gallery.isEmpty()) {
+            return new AuthenticationResult(false, null, 0.0,
+                    "Nenhuma biometria cadastrada no sistema");
+        }
+        BiometricMatcher.MatchResult matchResult = gallery.identify(matcher, sample);
+        if (matchResult.isMatched()) {
+            User user = userRepo.findById(matchResult.getMatchedUserId());
+            if (user != null && user.isActive() && !user.isLocked()) {
+                AuthenticationResult result = new AuthenticationResult(true, user,
+                        matchResult.getScore(), "Usuário identificado com sucesso");
+                result.setMatchResult(matchResult);
+                return result;
+            }
+        }
+        return new AuthenticationResult(false, null, matchResult.getScore(),
+                "Não foi possível identificar o usuário");
+    }
+
+    public List<BiometricMatcher.MatchResult> identifyCandidates(BufferedImage image, int k, ForkJoinPool pool)
+            throws SQLException {
+        if (!capture.validateImageQuality(image)) {
+            return new ArrayList<>();
+        }
+        BiometricData sample = extractor.extractFeatures(image, "unknown");
+        return bioRepo.loadGallery().identifyTopK(matcher, sample, k, pool);
+    }
+
+    public AuthenticationResult authenticateFromFile(String userId, String imagePath)
+            throws Exception {
+        BufferedImage image = capture.captureFromFile(imagePath);
+        return authenticateUser(userId, image);
+    }
+
+    public AuthenticationResult identifyFromFile(String imagePath) throws Exception {
+        BufferedImage image = capture.captureFromFile(imagePath);
+        return identifyUser(image);
+    }
+
+    public BiometricData updateBiometric(String biometricId, BufferedImage newImage)
+            throws SQLException {
+        BiometricData existing = bioRepo.findById(biometricId);
+        if (existing == null) {
+            throw new IllegalArgumentException("Biometria não encontrada: " + biometricId);
+        }
+        BiometricData newData = extractor.extractFeatures(newImage, existing.getUserId());
+        if (newData.getQualityScore() < 60.0) {
+            throw new IllegalArgumentException("Qualidade insuficiente para atualização");
+        }
+        existing.setFeatureVector(newData.getFeatureVector());
+        existing.setTemplate(newData.getTemplate());
+        existing.setQualityScore(newData.getQualityScore());
+        bioRepo.update(existing);
+        System.out.println("✓ Biometria atualizada: " + biometricId);
+        return existing;
+    }
+
+    public boolean removeBiometric(String biometricId) throws SQLException {
+        return bioRepo.softDelete(biometricId);
+    }
+
+    public String generateAuthReport(AuthenticationResult result) {
+        StringBuilder report = new StringBuilder();
+        report.append("===== RELATÓRIO DE AUTENTICAÇÃO =====\n");
+        report.append("Status: ").append(result.isAuthenticated() ? "SUCESSO" : "FALHA").append("\n");
+        if (result.getUser() != null) {
+            report.append("Usuário: ").append(result.getUser().getName()).append("\n");
+            report.append("Email: ").append(result.getUser().getEmail()).append("\n");
+            report.append("Nível de Acesso: ").append(result.getUser().getAccessLevel().toDisplayString()).append("\n");
+        }
+        report.append("Score: ").append(String.format("%.2f%%", result.getScore() * 100)).append("\n");
+        report.append("Mensagem: ").append(result.getMessage()).append("\n");
+        if (result.getMatchResult() != null) {
+            report.append("\n").append(matcher.generatePerformanceReport(result.getMatchResult()));
+        }
+        report.append("====================================\n");
+        return report.toString();
+    }
+}
@@ -0,0 +1,252 @@
+package com.apsbiometria.aps_biometria.authentication;
+
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.User;
+import com.apsbiometria.aps_biometria.repository.UserRepository;
+
+// Contador em memória das falhas recentes por usuário (janela deslizante). A decisão de bloqueio
+// e a rejeição de usuários bloqueados não tocam o banco; o estado é gravado em segundo plano.
+public class FailedAttemptTracker {
+
+    public static final int MAX_FAILED_ATTEMPTS = 3;
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(15);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static FailedAttemptTracker instance;
+    private final ConcurrentHashMap<String, Window> windows;
+    private final ConcurrentHashMap<String, PendingState> pendingWrites;
+    private final ExecutorService writer;
+    private final UserRepository userRepo;
+    private final LongAdder rejected;
+
+    // Marca slot livre e ausência de bloqueio; nanoTime pode ser zero ou negativo
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // Últimas MAX_FAILED_ATTEMPTS falhas; sem locks, só operações atômicas
+    private static final class Window {
+        final AtomicLongArray failures = new AtomicLongArray(MAX_FAILED_ATTEMPTS);
+        final AtomicInteger count; // falhas desde o último sucesso, partindo do valor do banco
+        final AtomicLong lockedUntil = new AtomicLong(EMPTY);
+        volatile User user;
+
+        Window(User user) {
+            this.user = user;
+            this.count = new AtomicInteger(Math.max(0, user.getFailedAttempts()));
+            for (int i = 0; i < MAX_FAILED_ATTEMPTS; i++) {
+                failures.set(i, EMPTY);
+            }
+        }
+    }
+
+    // locked null mantém a coluna como está: uma falha comum nunca desbloqueia o usuário
+    private static final class PendingState {
+        final int failedAttempts;
+        final Boolean locked;
+        final boolean reset;
+
+        PendingState(int failedAttempts, Boolean locked, boolean reset) {
+            this.failedAttempts = failedAttempts;
+            this.locked = locked;
+            this.reset = reset;
+        }
+
+        // Junta com um estado mais novo que ainda não foi gravado
+        PendingState followedBy(PendingState next) {
+            if (next.reset) {
+                return next;
+            }
+            return new PendingState(Math.max(failedAttempts, next.failedAttempts),
+                    next.locked != null ? next.locked : locked, false);
+        }
+    }
+
+    // Pacote: os testes criam rastreadores novos para simular um reinício
+    FailedAttemptTracker() {
+        this.windows = new ConcurrentHashMap<>();
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "biometria-lockout-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.userRepo = new UserRepository();
+        this.rejected = new LongAdder();
+
+        DatabaseConnection.getInstance().addShutdownTask(this::shutdown);
+    }
+
+    public static FailedAttemptTracker getInstance() {
+        if (instance == null) {
+            synchronized (FailedAttemptTracker.class) {
+                if (instance == null) {
+                    instance = new FailedAttemptTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Caminho rápido do login: uma leitura no mapa e uma comparação de tempo
+    public boolean isLocked(String userId) {
+        Window window = windows.get(userId);
+        if (window == null) {
+            return false;
+        }
+        long until = window.lockedUntil.get();
+        if (until != EMPTY && until - System.nanoTime() > 0) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    // Retorna true se esta falha bloqueou o usuário
+    public boolean recordFailure(User user) {
+        String userId = user.getId();
+        Window window = windows.computeIfAbsent(userId, id -> new Window(user));
+        window.user = user;
+        long now = System.nanoTime();
+
+        int count = window.count.incrementAndGet();
+        claimSlot(window, now);
+
+        if (recentFailures(window, now) >= MAX_FAILED_ATTEMPTS && lock(window, now)) {
+            persistLater(userId, new PendingState(count, Boolean.TRUE, false));
+            System.err.println("✗ Usuário bloqueado por excesso de tentativas: " + userId);
+            return true;
+        }
+        persistLater(userId, new PendingState(count, null, false));
+        return false;
+    }
+
+    // Usuário já bloqueado no banco: evita que as próximas tentativas cheguem ao banco
+    public void markLocked(User user) {
+        Window window = windows.computeIfAbsent(user.getId(), id -> new Window(user));
+        window.user = user;
+        lock(window, System.nanoTime());
+    }
+
+    // Sucesso zera a janela; só grava se havia falhas em memória ou no banco
+    public void reset(String userId, boolean persistedFailures) {
+        Window window = windows.remove(userId);
+        if (persistedFailures || (window != null && window.count.get() > 0)) {
+            persistLater(userId, new PendingState(0, Boolean.FALSE, true));
+        }
+    }
+
+    public int getRecentFailures(String userId) {
+        Window window = windows.get(userId);
+        return window != null ? recentFailures(window, System.nanoTime()) : 0;
+    }
+
+    // Último usuário visto numa falha, para auditar rejeições do caminho rápido sem ir ao banco
+    public User getUser(String userId) {
+        Window window = windows.get(userId);
+        return window != null ? window.user : null;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Substitui a falha mais antiga (ou um slot livre) com CAS; se outra thread trocou o slot
+    // no meio, procura de novo, então nenhuma falha concorrente se perde
+    private static void claimSlot(Window window, long now) {
+        AtomicLongArray failures = window.failures;
+        while (true) {
+            int oldest = 0;
+            long oldestValue = failures.get(0);
+            for (int i = 1; i < MAX_FAILED_ATTEMPTS && oldestValue != EMPTY; i++) {
+                long value = failures.get(i);
+                if (value == EMPTY || value - oldestValue < 0) {
+                    oldest = i;
+                    oldestValue = value;
+                }
+            }
+            if (failures.compareAndSet(oldest, oldestValue, now)) {
+                return;
+            }
+        }
+    }
+
+    private static int recentFailures(Window window, long now) {
+        int recent = 0;
+        for (int i = 0; i < MAX_FAILED_ATTEMPTS; i++) {
+            long failure = window.failures.get(i);
+            if (failure != EMPTY && now - failure <= WINDOW_NANOS) {
+                recent++;
+            }
+        }
+        return recent;
+    }
+
+    // O bloqueio em memória dura uma janela; depois disso a verificação volta a ser a do banco,
+    // que continua bloqueado até um desbloqueio explícito
+    private boolean lock(Window window, long now) {
+        while (true) {
+            long until = window.lockedUntil.get();
+            if (until != EMPTY && until - now > 0) {
+                return false;
+            }
+            if (window.lockedUntil.compareAndSet(until, now + WINDOW_NANOS)) {
+                return true;
+            }
+        }
+    }
+
+    // Só o estado mais recente de cada usuário é gravado: uma rajada de falhas vira um UPDATE
+    private void persistLater(String userId, PendingState state) {
+        boolean[] first = new boolean[1];
+        pendingWrites.compute(userId, (id, previous) -> {
+            first[0] = previous == null;
+            return previous == null ? state : previous.followedBy(state);
+        });
+        if (first[0]) {
+            try {
+                writer.execute(() -> persist(userId));
+            } catch (RuntimeException e) {
+                persist(userId);
+            }
+        }
+    }
+
+    private void persist(String userId) {
+        PendingState state = pendingWrites.remove(userId);
+        if (state == null) {
+            return;
+        }
+        try {
+            // Só o reset sobrescreve; falhas nunca diminuem o contador gravado por outra escrita
+            if (state.reset) {
+                userRepo.updateLockState(userId, state.failedAttempts, state.locked);
+            } else {
+                userRepo.updateFailedAttempts(userId, state.failedAttempts, Boolean.TRUE.equals(state.locked));
+            }
+        } catch (SQLException e) {
+            System.err.println("Erro ao gravar estado de bloqueio: " + e.getMessage());
+        }
+    }
+}
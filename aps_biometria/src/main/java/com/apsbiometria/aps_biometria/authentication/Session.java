@@ -1,102 +1,115 @@
-package com.apsbiometria.aps_biometria.authentication;
-
-import java.util.Date;
-import java.util.UUID;
-
-import com.apsbiometria.aps_biometria.model.AccessLevel;
-import com.apsbiometria.aps_biometria.model.User;
-
-public class Session {
-    private String sessionId;
-    private User user;
-    private Date loginTime;
-    private Date lastActivityTime;
-    private String ipAddress;
-    private boolean active;
-    private double authenticationScore;
-
-    private static final long SESSION_TIMEOUT = 30 * 60 * 1000;
-
-    public Session(User user, String ipAddress, double authenticationScore) {
-        this.sessionId = UUID.randomUUID().toString();
-        this.user = user;
-        this.ipAddress = ipAddress;
-        this.authenticationScore = authenticationScore;
-        this.loginTime = new Date();
-        this.lastActivityTime = new Date();
-        this.active = true;
-    }
-
-    public void updateActivity() {
-        this.lastActivityTime = new Date();
-    }
-
-    public boolean isExpired() {
-        long inactiveTime = System.currentTimeMillis() - lastActivityTime.getTime();
-        return inactiveTime > SESSION_TIMEOUT;
-    }
-
-    public boolean hasAccess(AccessLevel requiredLevel) {
-        if (!active || isExpired()) {
-            return false;
-        }
-        return user.getAccessLevel().getLevel() >= requiredLevel.getLevel();
-    }
-
-    public void invalidate() {
-        this.active = false;
-    }
-
-    public long getSessionDurationMinutes() {
-        long duration = System.currentTimeMillis() - loginTime.getTime();
-        return duration / (60 * 1000);
-    }
-
-    public long getInactiveTimeMinutes() {
-        long inactive = System.currentTimeMillis() - lastActivityTime.getTime();
-        return inactive / (60 * 1000);
-    }
-
-    public String getSessionId() {
-        return sessionId;
-    }
-
-    public User getUser() {
-        return user;
-    }
-
-    public Date getLoginTime() {
-        return loginTime;
-    }
-
-    public Date getLastActivityTime() {
-        return lastActivityTime;
-    }
-
-    public String getIpAddress() {
-        return ipAddress;
-    }
-
-    public boolean isActive() {
-        return active && !isExpired();
-    }
-
-    public void setActive(boolean active) {
-        this.active = active;
-    }
-
-    public double getAuthenticationScore() {
-        return authenticationScore;
-    }
-
-    @Override
-    public String toString() {
-        return "Session{" +
-                "sessionId='" + sessionId + '\'' +
-                ", user=" + user.getName() +
-                ", loginTime=" + loginTime +
-                ", active=" + isActive() +
-                ", duration=" + getSessionDurationMinutes() + "min" +
-                '}';
-    }
-}
+package com.apsbiometria.aps_biometria.authentication;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.apsbiometria.aps_biometria.model.AccessLevel;
+import com.apsbiometria.aps_biometria.model.User;
+
+public class Session {
+    private final String sessionId;
+    private final User user;
+    private final String ipAddress;
+    private final double authenticationScore;
+    private final long loginEpochMillis;
+    private final long loginNanos;
+    private volatile long lastActivityNanos;
+    private volatile boolean active;
+
+    private static final long SESSION_TIMEOUT = 30 * 60 * 1000;
+    private static final long SESSION_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(SESSION_TIMEOUT);
+    // Atividade é registrada com resolução de 1 s: acessos seguidos não reescrevem o campo
+    private static final long ACTIVITY_RESOLUTION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public Session(User user, String ipAddress, double authenticationScore) {
+        this.sessionId = UUID.randomUUID().toString();
+        this.user = user;
+        this.ipAddress = ipAddress;
+        this.authenticationScore = authenticationScore;
+        this.loginEpochMillis = System.currentTimeMillis();
+        this.loginNanos = System.nanoTime();
+        this.lastActivityNanos = loginNanos;
+        this.active = true;
+    }
+
+    public void updateActivity() {
+        long now = System.nanoTime();
+        if (now - lastActivityNanos >= ACTIVITY_RESOLUTION_NANOS) {
+            lastActivityNanos = now;
+        }
+    }
+
+    // Relógio monotônico: não é afetado por ajustes no relógio do sistema
+    public boolean isExpired() {
+        return System.nanoTime() - lastActivityNanos > SESSION_TIMEOUT_NANOS;
+    }
+
+    // Prazo em ticks de System.nanoTime; compare sempre pela diferença (a - b < 0)
+    public long getExpirationNanos() {
+        return lastActivityNanos + SESSION_TIMEOUT_NANOS;
+    }
+
+    public boolean hasAccess(AccessLevel requiredLevel) {
+        if (!active || isExpired()) {
+            return false;
+        }
+        return user.getAccessLevel().getLevel() >= requiredLevel.getLevel();
+    }
+
+    public void invalidate() {
+        this.active = false;
+    }
+
+    public long getSessionDurationMinutes() {
+        return TimeUnit.NANOSECONDS.toMinutes(System.nanoTime() - loginNanos);
+    }
+
+    public long getInactiveTimeMinutes() {
+        return TimeUnit.NANOSECONDS.toMinutes(System.nanoTime() - lastActivityNanos);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Date getLoginTime() {
+        return new Date(loginEpochMillis);
+    }
+
+    // Horário de parede derivado do login mais o tempo monotônico decorrido
+    public Date getLastActivityTime() {
+        return new Date(loginEpochMillis + TimeUnit.NANOSECONDS.toMillis(lastActivityNanos - loginNanos));
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public boolean isActive() {
+        return active && !isExpired();
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public double getAuthenticationScore() {
+        return authenticationScore;
+    }
+
+    @Override
+    public String toString() {
+        return "Session{" +
+                "sessionId='" + sessionId + '\'' +
+                ", user=" + user.getName() +
+                ", loginTime=" + getLoginTime() +
+                ", active=" + isActive() +
+                ", duration=" + getSessionDurationMinutes() + "min" +
+                '}';
+    }
+}
@@ -1,175 +1,234 @@
-package com.apsbiometria.aps_biometria.authentication;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-import com.apsbiometria.aps_biometria.model.User;
-
-public class SessionManager {
-
-    private static SessionManager instance;
-    private final Map<String, Session> activeSessions;
-    private final Map<String, Session> userSessions; // userId -> Session
-
-    private SessionManager() {
-        this.activeSessions = new ConcurrentHashMap<>();
-        this.userSessions = new ConcurrentHashMap<>();
-    }
-
-    public static SessionManager getInstance() {
-        if (instance == null) {
-            synchronized (SessionManager.class) {
-                if (instance == null) {
-                    instance = new SessionManager();
-                }
-            }
-        }
-        return instance;
-    }
-
-    public Session createSession(User user, String ipAddress, double authScore) {
-        removeUserSession(user.getId());
-
-        Session session = new Session(user, ipAddress, authScore);
-        activeSessions.put(session.getSessionId(), session);
-        userSessions.put(user.getId(), session);
-
-        System.out.println("✓ Sessão criada: " + session.getSessionId() +
-                " para usuário: " + user.getName());
-
-        return session;
-    }
-
-    public Session getSession(String sessionId) {
-        Session session = activeSessions.get(sessionId);
-
-        if (session != null) {
-            if (session.isExpired()) {
-                removeSession(sessionId);
-                return null;
-            }
-
-            session.updateActivity();
-        }
-
-        return session;
-    }
-
-    public Session getUserSession(String userId) {
-        Session session = userSessions.get(userId);
-
-        if (session != null && session.isExpired()) {
-            removeUserSession(userId);
-            return null;
-        }
-
-        return session;
-    }
-
-    public boolean hasActiveSession(String userId) {
-        Session session = getUserSession(userId);
-        return session != null && session.isActive();
-    }
-
-    public void removeSession(String sessionId) {
-        Session session = activeSessions.remove(sessionId);
-
-        if (session != null) {
-            session.invalidate();
-            userSessions.remove(session.getUser().getId());
-            System.out.println("✓ Sessão removida: " + sessionId);
-        }
-    }
-
-    public void removeUserSession(String userId) {
-        Session session = userSessions.remove(userId);
-
-        if (session != null) {
-            session.invalidate();
-            activeSessions.remove(session.getSessionId());
-            System.out.println("✓ Sessão do usuário removida: " + userId);
-        }
-    }
-
-    public List<Session> getActiveSessions() {
-        cleanExpiredSessions();
-        return new ArrayList<>(activeSessions.values());
-    }
-
-    public int getActiveSessionCount() {
-        cleanExpiredSessions();
-        return activeSessions.size();
-    }
-
-    public void cleanExpiredSessions() {
-        List<String> expiredSessions = new ArrayList<>();
-
-        for (Map.Entry<String, Session> entry : activeSessions.entrySet()) {
-            if (entry.getValue().isExpired()) {
-                expiredSessions.add(entry.getKey());
-            }
-        }
-
-        for (String sessionId : expiredSessions) {
-            removeSession(sessionId);
-        }
-
-        if (!expiredSessions.isEmpty()) {
-            System.out.println("✓ Limpeza: " + expiredSessions.size() + " sessões expiradas removidas");
-        }
-    }
-
-    public void clearAllSessions() {
-        for (Session session : activeSessions.values()) {
-            session.invalidate();
-        }
-        activeSessions.clear();
-        userSessions.clear();
-        System.out.println("✓ Todas as sessões foram removidas");
-    }
-
-    public String getSessionReport() {
-        cleanExpiredSessions();
-
-        StringBuilder report = new StringBuilder();
-        report.append("===== RELATÓRIO DE SESSÕES =====\n");
-        report.append("Total de Sessões Ativas: ").append(activeSessions.size()).append("\n\n");
-
-        for (Session session : activeSessions.values()) {
-            report.append("Sessão ID: ").append(session.getSessionId()).append("\n");
-            report.append("  Usuário: ").append(session.getUser().getName()).append("\n");
-            report.append("  Nível: ").append(session.getUser().getAccessLevel().toDisplayString()).append("\n");
-            report.append("  IP: ").append(session.getIpAddress()).append("\n");
-            report.append("  Login: ").append(session.getLoginTime()).append("\n");
-            report.append("  Duração: ").append(session.getSessionDurationMinutes()).append(" min\n");
-            report.append("  Score Auth: ").append(String.format("%.2f%%", session.getAuthenticationScore()))
-                    .append("\n");
-            report.append("  Status: ").append(session.isActive() ? "ATIVA" : "INATIVA").append("\n\n");
-        }
-
-        report.append("================================\n");
-        return report.toString();
-    }
-
-    public void startAutoCleanup() {
-        Thread cleanupThread = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(5 * 60 * 1000);
-                    cleanExpiredSessions();
-                } catch (InterruptedException e) {
-                    System.err.println("Thread de limpeza interrompida");
-                    break;
-                }
-            }
-        });
-
-        cleanupThread.setDaemon(true);
-        cleanupThread.setName("SessionCleanup");
-        cleanupThread.start();
-
-        System.out.println("✓ Auto-limpeza de sessões iniciada");
-    }
-}
\ No newline at end of file
+package com.apsbiometria.aps_biometria.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.apsbiometria.aps_biometria.model.User;
+
+public class SessionManager {
+
+    private static final long EXPIRY_TICK_MILLIS = 1000;
+
+    private static SessionManager instance;
+    private final Map<String, Session> activeSessions;
+    private final Map<String, Session> userSessions; // userId -> Session
+    private final PriorityBlockingQueue<ExpiryEntry> expiryQueue;
+    private final ReentrantLock expiryLock;
+    private ScheduledExecutorService scheduler;
+
+    // Prazo registrado quando a sessão entrou na fila. Atividade posterior não mexe na fila:
+    // ao vencer, a entrada é reagendada com o prazo atual da sessão (no máximo uma vez por timeout).
+    private static final class ExpiryEntry implements Comparable<ExpiryEntry> {
+        final long deadline;
+        final Session session;
+
+        ExpiryEntry(long deadline, Session session) {
+            this.deadline = deadline;
+            this.session = session;
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+            // Prazos em nanoTime podem dar a volta; só a diferença é confiável
+            return Long.signum(deadline - other.deadline);
+        }
+    }
+
+    private SessionManager() {
+        this.activeSessions = new ConcurrentHashMap<>();
+        this.userSessions = new ConcurrentHashMap<>();
+        this.expiryQueue = new PriorityBlockingQueue<>();
+        this.expiryLock = new ReentrantLock();
+    }
+
+    public static SessionManager getInstance() {
+        if (instance == null) {
+            synchronized (SessionManager.class) {
+                if (instance == null) {
+                    instance = new SessionManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Session createSession(User user, String ipAddress, double authScore) {
+        removeUserSession(user.getId());
+
+        Session session = new Session(user, ipAddress, authScore);
+        activeSessions.put(session.getSessionId(), session);
+        userSessions.put(user.getId(), session);
+        expiryQueue.add(new ExpiryEntry(session.getExpirationNanos(), session));
+
+        System.out.println("✓ Sessão criada: " + session.getSessionId() +
+                " para usuário: " + user.getName());
+
+        return session;
+    }
+
+    public Session getSession(String sessionId) {
+        Session session = activeSessions.get(sessionId);
+
+        if (session != null) {
+            if (session.isExpired()) {
+                removeSession(sessionId);
+                return null;
+            }
+
+            session.updateActivity();
+        }
+
+        return session;
+    }
+
+    public Session getUserSession(String userId) {
+        Session session = userSessions.get(userId);
+
+        if (session != null && session.isExpired()) {
+            removeUserSession(userId);
+            return null;
+        }
+
+        return session;
+    }
+
+    public boolean hasActiveSession(String userId) {
+        Session session = getUserSession(userId);
+        return session != null && session.isActive();
+    }
+
+    public void removeSession(String sessionId) {
+        Session session = activeSessions.remove(sessionId);
+
+        if (session != null) {
+            session.invalidate();
+            userSessions.remove(session.getUser().getId());
+            System.out.println("✓ Sessão removida: " + sessionId);
+        }
+    }
+
+    public void removeUserSession(String userId) {
+        Session session = userSessions.remove(userId);
+
+        if (session != null) {
+            session.invalidate();
+            activeSessions.remove(session.getSessionId());
+            System.out.println("✓ Sessão do usuário removida: " + userId);
+        }
+    }
+
+    public List<Session> getActiveSessions() {
+        expireDue();
+        return new ArrayList<>(activeSessions.values());
+    }
+
+    public int getActiveSessionCount() {
+        expireDue();
+        return activeSessions.size();
+    }
+
+    public void cleanExpiredSessions() {
+        int expired = expireDue();
+
+        if (expired > 0) {
+            System.out.println("✓ Limpeza: " + expired + " sessões expiradas removidas");
+        }
+    }
+
+    // Remove só as sessões com prazo vencido, olhando a cabeça da fila: O(expiradas), sem
+    // varrer as sessões ativas. Espera o lock em vez de desistir: quem consulta as sessões logo
+    // depois não pode ver uma sessão vencida só porque o agendador estava expirando ao mesmo tempo.
+    public int expireDue() {
+        expiryLock.lock();
+        try {
+            long now = System.nanoTime();
+            int expired = 0;
+
+            ExpiryEntry head;
+            while ((head = expiryQueue.peek()) != null && head.deadline - now < 0) {
+                expiryQueue.poll();
+                Session session = head.session;
+
+                // Entrada de uma sessão já removida (logout ou novo login do usuário)
+                if (activeSessions.get(session.getSessionId()) != session) {
+                    continue;
+                }
+                if (!session.isExpired()) {
+                    expiryQueue.add(new ExpiryEntry(session.getExpirationNanos(), session));
+                    continue;
+                }
+
+                removeSession(session.getSessionId());
+                expired++;
+            }
+
+            return expired;
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    public void clearAllSessions() {
+        for (Session session : activeSessions.values()) {
+            session.invalidate();
+        }
+        activeSessions.clear();
+        userSessions.clear();
+        expiryQueue.clear();
+        System.out.println("✓ Todas as sessões foram removidas");
+    }
+
+    public String getSessionReport() {
+        expireDue();
+
+        StringBuilder report = new StringBuilder();
+        report.append("===== RELATÓRIO DE SESSÕES =====\n");
+        report.append("Total de Sessões Ativas: ").append(activeSessions.size()).append("\n\n");
+
+        for (Session session : activeSessions.values()) {
+            report.append("Sessão ID: ").append(session.getSessionId()).append("\n");
+            report.append("  Usuário: ").append(session.getUser().getName()).append("\n");
+            report.append("  Nível: ").append(session.getUser().getAccessLevel().toDisplayString()).append("\n");
+            report.append("  IP: ").append(session.getIpAddress()).append("\n");
+            report.append("  Login: ").append(session.getLoginTime()).append("\n");
+            report.append("  Duração: ").append(session.getSessionDurationMinutes()).append(" min\n");
+            report.append("  Score Auth: ").append(String.format("%.2f%%", session.getAuthenticationScore()))
+                    .append("\n");
+            report.append("  Status: ").append(session.isActive() ? "ATIVA" : "INATIVA").append("\n\n");
+        }
+
+        report.append("================================\n");
+        return report.toString();
+    }
+
+    // Idempotente: cada AuthenticationService chama, mas só um agendador é criado
+    public synchronized void startAutoCleanup() {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "SessionCleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::cleanExpiredSessions,
+                EXPIRY_TICK_MILLIS, EXPIRY_TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        System.out.println("✓ Auto-limpeza de sessões iniciada");
+    }
+
+    public synchronized void stopAutoCleanup() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+public interface DistanceKernel {
+
+    String getName();
+
+    double squaredDistance(double[] v1, double[] v2);
+
+    double cosineSimilarity(double[] v1, double[] v2);
+
+    float squaredDistance(float[] probe, float[] vectors, int offset, int dimension);
+}
@@ -0,0 +1,45 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+public final class DistanceKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String SIMD_PROPERTY = "biometria.simd";
+
+    private static final DistanceKernel SCALAR = new ScalarDistanceKernel();
+    private static final DistanceKernel DEFAULT = select();
+
+    private DistanceKernels() {
+    }
+
+    public static DistanceKernel get() {
+        return DEFAULT;
+    }
+
+    public static DistanceKernel scalar() {
+        return SCALAR;
+    }
+
+    public static boolean isVectorized() {
+        return DEFAULT != SCALAR;
+    }
+
+    private static DistanceKernel select() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))) {
+            return SCALAR;
+        }
+
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return SCALAR;
+        }
+
+        try {
+            DistanceKernel kernel = new VectorDistanceKernel();
+            kernel.squaredDistance(new float[1], new float[1], 0, 1);
+            System.out.println("✓ Kernels de distância: " + kernel.getName());
+            return kernel;
+        } catch (LinkageError | RuntimeException e) {
+            System.err.println("Vector API indisponível, usando kernels escalares: " + e.getMessage());
+            return SCALAR;
+        }
+    }
+}
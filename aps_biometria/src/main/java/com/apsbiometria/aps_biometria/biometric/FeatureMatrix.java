@@ -0,0 +1,176 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.apsbiometria.aps_biometria.model.BiometricData;
+
+public class FeatureMatrix {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final int dimension;
+    private float[] vectors; // row-major: row * dimension + i
+    private String[] ids;
+    private String[] userIds;
+    private double[] qualities;
+    private int size;
+    private final Map<String, Integer> rowsById;
+
+    public FeatureMatrix(int dimension) {
+        this(dimension, DEFAULT_CAPACITY);
+    }
+
+    public FeatureMatrix(int dimension, int initialCapacity) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimensão inválida: " + dimension);
+        }
+        int capacity = Math.max(1, initialCapacity);
+        this.dimension = dimension;
+        this.vectors = new float[capacity * dimension];
+        this.ids = new String[capacity];
+        this.userIds = new String[capacity];
+        this.qualities = new double[capacity];
+        this.size = 0;
+        this.rowsById = new HashMap<>();
+    }
+
+    public int add(BiometricData data) {
+        return add(data.getId(), data.getUserId(), data.getFeatureVector(), data.getQualityScore());
+    }
+
+    public int add(String id, String userId, double[] vector, double quality) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Vetores de características com tamanhos diferentes");
+        }
+
+        Integer existing = rowsById.get(id);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowsById.put(id, row);
+        }
+
+        int offset = row * dimension;
+        for (int i = 0; i < dimension; i++) {
+            vectors[offset + i] = (float) vector[i];
+        }
+        ids[row] = id;
+        userIds[row] = userId;
+        qualities[row] = quality;
+
+        return row;
+    }
+
+    public boolean remove(String id) {
+        Integer row = rowsById.remove(id);
+        if (row == null) {
+            return false;
+        }
+
+        int last = size - 1;
+        if (row != last) {
+            System.arraycopy(vectors, last * dimension, vectors, row * dimension, dimension);
+            ids[row] = ids[last];
+            userIds[row] = userIds[last];
+            qualities[row] = qualities[last];
+            rowsById.put(ids[row], row);
+        }
+
+        ids[last] = null;
+        userIds[last] = null;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(ids, 0, size, null);
+        Arrays.fill(userIds, 0, size, null);
+        rowsById.clear();
+        size = 0;
+    }
+
+    public boolean contains(String id) {
+        return rowsById.containsKey(id);
+    }
+
+    public int rowOf(String id) {
+        Integer row = rowsById.get(id);
+        return row != null ? row : -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public float[] getVectors() {
+        return vectors;
+    }
+
+    public int offsetOf(int row) {
+        return row * dimension;
+    }
+
+    public String getId(int row) {
+        return ids[row];
+    }
+
+    public String getUserId(int row) {
+        return userIds[row];
+    }
+
+    public double getQuality(int row) {
+        return qualities[row];
+    }
+
+    public double[] getVector(int row) {
+        double[] vector = new double[dimension];
+        int offset = row * dimension;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = vectors[offset + i];
+        }
+        return vector;
+    }
+
+    public BiometricData toBiometricData(int row) {
+        BiometricData data = new BiometricData();
+        data.setId(ids[row]);
+        data.setUserId(userIds[row]);
+        data.setFeatureVector(getVector(row));
+        data.setQualityScore(qualities[row]);
+        return data;
+    }
+
+    public static float[] toFloatVector(double[] vector) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) vector[i];
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = ids.length;
+        if (required <= capacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(required, capacity + (capacity >> 1));
+        vectors = Arrays.copyOf(vectors, newCapacity * dimension);
+        ids = Arrays.copyOf(ids, newCapacity);
+        userIds = Arrays.copyOf(userIds, newCapacity);
+        qualities = Arrays.copyOf(qualities, newCapacity);
+    }
+}
@@ -0,0 +1,177 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// Escolhe os melhores frames de um vídeo pelo ImageQualityReport (amostragem esparsa da imagem),
+// para que só eles passem pela extração completa de características.
+public class FrameSelector {
+
+    private static final int SAMPLE_STRIDE = 4;
+    private static final double SHARPNESS_REFERENCE = 1000.0;
+
+    // Melhor score primeiro; em empate, o frame que veio antes
+    private static final Comparator<ScoredFrame> BEST_FIRST = Comparator
+            .comparingDouble(ScoredFrame::getScore).reversed()
+            .thenComparingInt(ScoredFrame::getIndex);
+
+    public static class ScoredFrame {
+        private final int index;
+        private final BufferedImage image;
+        private final double score;
+        private final ImageQualityReport report;
+
+        public ScoredFrame(int index, BufferedImage image, double score, ImageQualityReport report) {
+            this.index = index;
+            this.image = image;
+            this.score = score;
+            this.report = report;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public ImageQualityReport getReport() {
+            return report;
+        }
+
+        public double getBrightness() {
+            return report.getBrightness();
+        }
+
+        public double getSharpness() {
+            return report.getSharpness();
+        }
+
+        public double getEdgeDensity() {
+            return report.getEdgeDensity();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Frame %d: score %.3f | brilho %.1f | nitidez %.1f | bordas %.3f",
+                    index, score, getBrightness(), getSharpness(), getEdgeDensity());
+        }
+    }
+
+    // Consome todos os frames guardando só os k melhores; os demais são descartados assim que avaliados.
+    // Frames reprovados pelo mesmo critério de validateImageQuality ficam de fora.
+    public List<ScoredFrame> selectBest(Iterator<BufferedImage> frames, int k) {
+        List<ScoredFrame> selected = new ArrayList<>(k);
+        candidates(frames, k, Integer.MAX_VALUE, Double.POSITIVE_INFINITY).forEachRemaining(selected::add);
+        return selected;
+    }
+
+    // Candidatos à extração entregues sob demanda, sem esperar o fim do vídeo. Um frame com score
+    // >= goodScore sai assim que é avaliado; os demais esperam entre os k melhores até que
+    // scanBudget frames tenham sido lidos (ou os frames acabem) e então saem do melhor para o pior.
+    // Nunca lê além do orçamento e entrega no máximo k frames.
+    public Iterator<ScoredFrame> candidates(Iterator<BufferedImage> frames, int k, int scanBudget,
+            double goodScore) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k deve ser maior que zero");
+        }
+        if (scanBudget <= 0) {
+            throw new IllegalArgumentException("Orçamento de frames deve ser maior que zero");
+        }
+        return new Candidates(frames, k, scanBudget, goodScore);
+    }
+
+    public ScoredFrame score(int index, BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+
+        ImageQualityReport report = ImageQualityReport.analyze(image, SAMPLE_STRIDE);
+        if (!report.isAcceptable()) {
+            return null;
+        }
+
+        double balance = 1.0 - Math.abs(report.getBrightness() - 128.0) / 128.0;
+        double score = Math.min(1.0, report.getSharpness() / SHARPNESS_REFERENCE) * 0.5
+                + Math.min(1.0, report.getEdgeDensity() * 4.0) * 0.3
+                + balance * 0.2;
+
+        return new ScoredFrame(index, image, score, report);
+    }
+
+    private final class Candidates implements Iterator<ScoredFrame> {
+        private final Iterator<BufferedImage> frames;
+        private final int k;
+        private final int scanBudget;
+        private final double goodScore;
+        private final PriorityQueue<ScoredFrame> best;
+        private ArrayDeque<ScoredFrame> ranked;
+        private ScoredFrame next;
+        private int scanned;
+        private int delivered;
+
+        Candidates(Iterator<BufferedImage> frames, int k, int scanBudget, double goodScore) {
+            this.frames = frames;
+            this.k = k;
+            this.scanBudget = scanBudget;
+            this.goodScore = goodScore;
+            this.best = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (delivered >= k) {
+                return false;
+            }
+
+            while (ranked == null && scanned < scanBudget && frames.hasNext()) {
+                ScoredFrame scored = score(scanned++, frames.next());
+                if (scored == null) {
+                    continue;
+                }
+                if (scored.getScore() >= goodScore) {
+                    next = scored;
+                    return true;
+                }
+                best.add(scored);
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+
+            if (ranked == null) {
+                List<ScoredFrame> sorted = new ArrayList<>(best);
+                sorted.sort(BEST_FIRST);
+                ranked = new ArrayDeque<>(sorted);
+                best.clear();
+            }
+            next = ranked.poll();
+            return next != null;
+        }
+
+        @Override
+        public ScoredFrame next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ScoredFrame frame = next;
+            next = null;
+            delivered++;
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Frames de vídeo decodificados em paralelo e entregues em ordem. Só uma janela de frames fica
+// em memória: cada next() libera o frame anterior e agenda a decodificação de mais um arquivo.
+public class FrameStream implements Iterator<BufferedImage>, AutoCloseable {
+
+    private static final int DECODER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int LOOK_AHEAD = DECODER_THREADS * 2;
+
+    // Compartilhado entre streams; a janela de cada stream limita quanto ela ocupa do pool
+    private static final ExecutorService DECODER_POOL = Executors.newFixedThreadPool(DECODER_THREADS, task -> {
+        Thread thread = new Thread(task, "biometria-frame-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    interface FrameDecoder {
+        // null para arquivos que não são imagem válida; o frame é pulado
+        BufferedImage decode(File file) throws IOException;
+    }
+
+    private final List<File> files;
+    private final FrameDecoder decoder;
+    private final ArrayDeque<Future<BufferedImage>> pending;
+    private int nextToSubmit;
+    private BufferedImage nextFrame;
+    private int delivered;
+    private boolean closed;
+
+    FrameStream(List<File> files, FrameDecoder decoder) {
+        this.files = files;
+        this.decoder = decoder;
+        this.pending = new ArrayDeque<>(LOOK_AHEAD);
+        this.nextToSubmit = 0;
+        fillWindow();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextFrame == null && !closed && !pending.isEmpty()) {
+            Future<BufferedImage> head = pending.poll();
+            fillWindow();
+            nextFrame = await(head);
+        }
+        return nextFrame != null;
+    }
+
+    @Override
+    public BufferedImage next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BufferedImage frame = nextFrame;
+        nextFrame = null;
+        delivered++;
+        return frame;
+    }
+
+    public int getFrameCount() {
+        return files.size();
+    }
+
+    public int getDeliveredCount() {
+        return delivered;
+    }
+
+    // Cancela as decodificações ainda não consumidas; pode ser chamado no meio da leitura
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextFrame = null;
+        for (Future<BufferedImage> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    private void fillWindow() {
+        while (!closed && pending.size() < LOOK_AHEAD && nextToSubmit < files.size()) {
+            File file = files.get(nextToSubmit++);
+            Callable<BufferedImage> task = () -> decoder.decode(file);
+            pending.add(DECODER_POOL.submit(task));
+        }
+    }
+
+    private BufferedImage await(Future<BufferedImage> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // Não trata como fim do vídeo: um clipe truncado seria avaliado como se estivesse completo
+            Thread.currentThread().interrupt();
+            close();
+            InterruptedIOException interrupted = new InterruptedIOException("Leitura de frames interrompida");
+            interrupted.initCause(e);
+            throw new UncheckedIOException(interrupted);
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Erro ao decodificar frame: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Tabelas de soma (summed-area) dos gradientes centrais, para responder Harris e
+// orientação de qualquer janela em O(1). Os gradientes são guardados como inteiros
+// dobrados (right - left), então as somas são exatas e só dividimos no final.
+final class GradientIntegralImage {
+
+    private int width;
+    private int height;
+    private int[] gray = new int[0];
+    private long[] sumXX = new long[0];
+    private long[] sumYY = new long[0];
+    private long[] sumXY = new long[0];
+    private long[] sumX = new long[0];
+    private long[] sumY = new long[0];
+
+    void compute(BufferedImage image) {
+        width = image.getWidth();
+        height = image.getHeight();
+        ensureCapacity(width, height);
+
+        readGray(image);
+
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            long rowXX = 0, rowYY = 0, rowXY = 0, rowX = 0, rowY = 0;
+            int above = y * stride;
+            int current = above + stride;
+            sumXX[current] = 0;
+            sumYY[current] = 0;
+            sumXY[current] = 0;
+            sumX[current] = 0;
+            sumY[current] = 0;
+
+            for (int x = 0; x < width; x++) {
+                int gx = (x == 0 || x == width - 1) ? 0 : gray[y * width + x + 1] - gray[y * width + x - 1];
+                int gy = (y == 0 || y == height - 1) ? 0 : gray[(y + 1) * width + x] - gray[(y - 1) * width + x];
+
+                rowXX += gx * gx;
+                rowYY += gy * gy;
+                rowXY += gx * gy;
+                rowX += gx;
+                rowY += gy;
+
+                sumXX[current + x + 1] = sumXX[above + x + 1] + rowXX;
+                sumYY[current + x + 1] = sumYY[above + x + 1] + rowYY;
+                sumXY[current + x + 1] = sumXY[above + x + 1] + rowXY;
+                sumX[current + x + 1] = sumX[above + x + 1] + rowX;
+                sumY[current + x + 1] = sumY[above + x + 1] + rowY;
+            }
+        }
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    // A janela precisa caber inteira na imagem (cx - radius >= 0, cx + radius < width)
+    double harrisResponse(int cx, int cy, int radius, double k) {
+        double ixx = windowSum(sumXX, cx, cy, radius) / 4.0;
+        double iyy = windowSum(sumYY, cx, cy, radius) / 4.0;
+        double ixy = windowSum(sumXY, cx, cy, radius) / 4.0;
+
+        double det = ixx * iyy - ixy * ixy;
+        double trace = ixx + iyy;
+
+        return det - k * trace * trace;
+    }
+
+    double orientation(int cx, int cy, int radius) {
+        double sumGx = windowSum(sumX, cx, cy, radius) / 2.0;
+        double sumGy = windowSum(sumY, cx, cy, radius) / 2.0;
+
+        return Math.atan2(sumGy, sumGx);
+    }
+
+    private long windowSum(long[] table, int cx, int cy, int radius) {
+        int stride = width + 1;
+        int x0 = cx - radius;
+        int x1 = cx + radius + 1;
+        int y0 = (cy - radius) * stride;
+        int y1 = (cy + radius + 1) * stride;
+
+        return table[y1 + x1] - table[y0 + x1] - table[y1 + x0] + table[y0 + x0];
+    }
+
+    private void readGray(BufferedImage image) {
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_BYTE_GRAY)) {
+            byte[] data = GrayRaster.bytes(image);
+            int[] readLut = GrayRaster.READ_LUT;
+            for (int i = 0; i < width * height; i++) {
+                gray[i] = readLut[data[i] & 0xFF];
+            }
+            return;
+        }
+
+        image.getRGB(0, 0, width, height, gray, 0, width);
+        for (int i = 0; i < width * height; i++) {
+            gray[i] &= 0xFF;
+        }
+    }
+
+    private void ensureCapacity(int width, int height) {
+        if (gray.length < width * height) {
+            gray = new int[width * height];
+        }
+
+        int tableSize = (width + 1) * (height + 1);
+        if (sumXX.length < tableSize) {
+            sumXX = new long[tableSize];
+            sumYY = new long[tableSize];
+            sumXY = new long[tableSize];
+            sumX = new long[tableSize];
+            sumY = new long[tableSize];
+        }
+        // Linha 0 das tabelas fica zerada; as demais são sobrescritas a cada compute
+        Arrays.fill(sumXX, 0, width + 1, 0L);
+        Arrays.fill(sumYY, 0, width + 1, 0L);
+        Arrays.fill(sumXY, 0, width + 1, 0L);
+        Arrays.fill(sumX, 0, width + 1, 0L);
+        Arrays.fill(sumY, 0, width + 1, 0L);
+    }
+}
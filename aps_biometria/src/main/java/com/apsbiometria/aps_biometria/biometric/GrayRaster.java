@@ -0,0 +1,84 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+final class GrayRaster {
+
+    // TYPE_BYTE_GRAY é linear: getRGB/setRGB passam por conversão sRGB. Estas tabelas
+    // reproduzem essa conversão para quem lê e escreve direto no raster.
+    static final int[] READ_LUT = buildReadLut();
+    static final int[] WRITE_LUT = buildWriteLut();
+
+    private GrayRaster() {
+    }
+
+    static boolean isPlain(BufferedImage image, int type) {
+        if (image == null || image.getType() != type) {
+            return false;
+        }
+        WritableRaster raster = image.getRaster();
+        if (raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0
+                || raster.getDataBuffer().getNumBanks() != 1 || raster.getDataBuffer().getOffset() != 0) {
+            return false;
+        }
+        SampleModel sampleModel = raster.getSampleModel();
+        if (sampleModel instanceof ComponentSampleModel) {
+            ComponentSampleModel component = (ComponentSampleModel) sampleModel;
+            return component.getScanlineStride() == image.getWidth() * component.getPixelStride();
+        }
+        if (sampleModel instanceof SinglePixelPackedSampleModel) {
+            return ((SinglePixelPackedSampleModel) sampleModel).getScanlineStride() == image.getWidth();
+        }
+        return sampleModel instanceof MultiPixelPackedSampleModel;
+    }
+
+    static byte[] bytes(BufferedImage image) {
+        return ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+    }
+
+    static int[] ints(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    static BufferedImage ensureGray(BufferedImage target, int width, int height) {
+        if (target != null && target.getWidth() == width && target.getHeight() == height
+                && isPlain(target, BufferedImage.TYPE_BYTE_GRAY)) {
+            return target;
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    // Mesma fórmula usada pelo Java2D ao desenhar RGB em TYPE_BYTE_GRAY
+    static int luminance(int r, int g, int b) {
+        return (77 * r + 150 * g + 29 * b + 128) >> 8;
+    }
+
+    private static int[] buildReadLut() {
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = probe.getRaster();
+        int[] lut = new int[256];
+        for (int v = 0; v < 256; v++) {
+            raster.setSample(0, 0, 0, v);
+            lut[v] = probe.getRGB(0, 0) & 0xFF;
+        }
+        return lut;
+    }
+
+    private static int[] buildWriteLut() {
+        BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = probe.getRaster();
+        int[] lut = new int[256];
+        for (int v = 0; v < 256; v++) {
+            probe.setRGB(0, 0, (v << 16) | (v << 8) | v);
+            lut[v] = raster.getSample(0, 0, 0);
+        }
+        return lut;
+    }
+}
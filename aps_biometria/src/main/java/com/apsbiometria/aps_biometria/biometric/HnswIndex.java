@@ -0,0 +1,359 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class HnswIndex {
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int dimension;
+    private final int maxNeighbors;
+    private final int maxNeighborsLayer0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final DistanceKernel kernel;
+    private final Random random;
+
+    private float[] vectors;
+    private String[] ids;
+    private int[][][] neighbors; // node -> nível -> [quantidade, vizinhos...]
+    private final BitSet deleted;
+    private final Map<String, Integer> nodesById;
+    private int nodeCount;
+    private int deletedCount;
+    private int entryPoint;
+    private int maxLevel;
+
+    private static class Candidate {
+        final int node;
+        final float distance;
+
+        Candidate(int node, float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+
+    public HnswIndex(int dimension) {
+        this(dimension, DEFAULT_M, DEFAULT_EF_CONSTRUCTION);
+    }
+
+    public HnswIndex(int dimension, int m, int efConstruction) {
+        if (dimension <= 0 || m < 2 || efConstruction <= 0) {
+            throw new IllegalArgumentException("Parâmetros HNSW inválidos");
+        }
+        this.dimension = dimension;
+        this.maxNeighbors = m;
+        this.maxNeighborsLayer0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.kernel = DistanceKernels.get();
+        this.random = new Random(42);
+        this.vectors = new float[INITIAL_CAPACITY * dimension];
+        this.ids = new String[INITIAL_CAPACITY];
+        this.neighbors = new int[INITIAL_CAPACITY][][];
+        this.deleted = new BitSet();
+        this.nodesById = new HashMap<>();
+        this.nodeCount = 0;
+        this.deletedCount = 0;
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+    }
+
+    public void insert(String id, double[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Vetores de características com tamanhos diferentes");
+        }
+
+        markDeleted(id);
+
+        int node = allocateNode(id, vector);
+        int level = randomLevel();
+        neighbors[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            neighbors[node][l] = new int[(l == 0 ? maxNeighborsLayer0 : maxNeighbors) + 1];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = Arrays.copyOfRange(vectors, node * dimension, (node + 1) * dimension);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedySearch(query, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(query, current, efConstruction, l);
+            int limit = l == 0 ? maxNeighborsLayer0 : maxNeighbors;
+            List<Candidate> selected = found.subList(0, Math.min(limit, found.size()));
+
+            for (Candidate candidate : selected) {
+                addLink(node, candidate.node, l);
+                addLink(candidate.node, node, l);
+            }
+
+            current = found.get(0).node;
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    public boolean markDeleted(String id) {
+        Integer node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        deleted.set(node);
+        deletedCount++;
+        return true;
+    }
+
+    public List<String> search(double[] vector, int k, int efSearch) {
+        List<String> result = new ArrayList<>();
+        if (entryPoint < 0 || k <= 0 || vector == null || vector.length != dimension) {
+            return result;
+        }
+
+        float[] query = FeatureMatrix.toFloatVector(vector);
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedySearch(query, current, l);
+        }
+
+        List<Candidate> found = searchLayer(query, current, Math.max(efSearch, k), 0);
+        for (Candidate candidate : found) {
+            if (!deleted.get(candidate.node)) {
+                result.add(ids[candidate.node]);
+                if (result.size() == k) {
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(ids, 0, nodeCount, null);
+        Arrays.fill(neighbors, 0, nodeCount, null);
+        deleted.clear();
+        nodesById.clear();
+        nodeCount = 0;
+        deletedCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    public int getDeletedCount() {
+        return deletedCount;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    private int greedySearch(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = distance(query, current);
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+            int[] links = neighbors[current][level];
+            for (int i = 1; i <= links[0]; i++) {
+                int neighbor = links[i];
+                float d = distance(query, neighbor);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbor;
+                    changed = true;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    // Retorna até ef nós do nível, ordenados do mais próximo para o mais distante
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        VisitedSet visited = new VisitedSet(ef * 4);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>((a, b) -> Float.compare(a.distance, b.distance));
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>((a, b) -> Float.compare(b.distance, a.distance));
+
+        Candidate first = new Candidate(start, distance(query, start));
+        visited.add(start);
+        candidates.add(first);
+        nearest.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (closest.distance > nearest.peek().distance && nearest.size() >= ef) {
+                break;
+            }
+
+            int[] links = neighbors[closest.node][level];
+            for (int i = 1; i <= links[0]; i++) {
+                int neighbor = links[i];
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+
+                float d = distance(query, neighbor);
+                if (nearest.size() < ef || d < nearest.peek().distance) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    nearest.add(candidate);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(nearest);
+        result.sort((a, b) -> Float.compare(a.distance, b.distance));
+        return result;
+    }
+
+    // Conjunto de nós visitados numa busca: cresce com o que a busca realmente toca (proporcional
+    // a ef), em vez de alocar e zerar um BitSet do tamanho do índice a cada chamada. Uma instância
+    // por busca, então buscas concorrentes sob o lock de leitura não compartilham estado.
+    private static final class VisitedSet {
+        private int[] slots;
+        private int size;
+
+        VisitedSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) - 1) << 1;
+            this.slots = new int[capacity];
+            Arrays.fill(slots, -1);
+        }
+
+        // false se o nó já estava no conjunto
+        boolean add(int node) {
+            if (size * 2 >= slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int i = mix(node) & mask;
+            while (slots[i] != -1) {
+                if (slots[i] == node) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = node;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            Arrays.fill(slots, -1);
+            int mask = slots.length - 1;
+            for (int node : old) {
+                if (node != -1) {
+                    int i = mix(node) & mask;
+                    while (slots[i] != -1) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = node;
+                }
+            }
+        }
+
+        private static int mix(int node) {
+            int h = node * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private void addLink(int from, int to, int level) {
+        int[] links = neighbors[from][level];
+        int limit = links.length - 1;
+
+        if (links[0] < limit) {
+            links[++links[0]] = to;
+            return;
+        }
+
+        // Lista cheia: mantém os vizinhos mais próximos de "from"
+        int worstIndex = -1;
+        float worstDistance = distanceBetween(from, to);
+        for (int i = 1; i <= limit; i++) {
+            float d = distanceBetween(from, links[i]);
+            if (d > worstDistance) {
+                worstDistance = d;
+                worstIndex = i;
+            }
+        }
+
+        if (worstIndex > 0) {
+            links[worstIndex] = to;
+        }
+    }
+
+    private int allocateNode(String id, double[] vector) {
+        ensureCapacity(nodeCount + 1);
+        int node = nodeCount++;
+        int offset = node * dimension;
+        for (int i = 0; i < dimension; i++) {
+            vectors[offset + i] = (float) vector[i];
+        }
+        ids[node] = id;
+        nodesById.put(id, node);
+        return node;
+    }
+
+    private int randomLevel() {
+        double u = 1.0 - random.nextDouble();
+        return (int) Math.floor(-Math.log(u) * levelMultiplier);
+    }
+
+    private float distance(float[] query, int node) {
+        return kernel.squaredDistance(query, vectors, node * dimension, dimension);
+    }
+
+    private float distanceBetween(int a, int b) {
+        float sum = 0.0f;
+        int offsetA = a * dimension;
+        int offsetB = b * dimension;
+        for (int i = 0; i < dimension; i++) {
+            float diff = vectors[offsetA + i] - vectors[offsetB + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = ids.length;
+        if (required <= capacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(required, capacity * 2);
+        vectors = Arrays.copyOf(vectors, newCapacity * dimension);
+        ids = Arrays.copyOf(ids, newCapacity);
+        neighbors = Arrays.copyOf(neighbors, newCapacity);
+    }
+}
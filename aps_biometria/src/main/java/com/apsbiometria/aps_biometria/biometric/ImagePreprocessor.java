@@ -1,173 +1,480 @@
-package com.apsbiometria.aps_biometria.biometric;
-
-import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
-
-public class ImagePreprocessor {
-
-    public BufferedImage convertToGrayscale(BufferedImage original) {
-        BufferedImage grayscale = new BufferedImage(
-                original.getWidth(),
-                original.getHeight(),
-                BufferedImage.TYPE_BYTE_GRAY);
-
-        java.awt.Graphics2D g = grayscale.createGraphics();
-        g.drawImage(original, 0, 0, null);
-        g.dispose();
-
-        return grayscale;
-    }
-
-    public BufferedImage normalizeHistogram(BufferedImage image) {
-        int width = image.getWidth();
-        int height = image.getHeight();
-
-        int[] histogram = new int[256];
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int rgb = image.getRGB(x, y);
-                int gray = rgb & 0xFF;
-                histogram[gray]++;
-            }
-        }
-
-        int[] cdf = new int[256];
-        cdf[0] = histogram[0];
-        for (int i = 1; i < 256; i++) {
-            cdf[i] = cdf[i - 1] + histogram[i];
-        }
-
-        int totalPixels = width * height;
-        int cdfMin = cdf[0];
-
-        BufferedImage normalized = new BufferedImage(width, height, image.getType());
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int rgb = image.getRGB(x, y);
-                int gray = rgb & 0xFF;
-
-                int newGray = (int) (((cdf[gray] - cdfMin) * 255.0) / (totalPixels - cdfMin));
-                newGray = Math.max(0, Math.min(255, newGray));
-
-                int newRgb = (newGray << 16) | (newGray << 8) | newGray;
-                normalized.setRGB(x, y, newRgb);
-            }
-        }
-
-        return normalized;
-    }
-
-    public BufferedImage applyGaussianBlur(BufferedImage image) {
-        float[] matrix = {
-                1 / 16f, 2 / 16f, 1 / 16f,
-                2 / 16f, 4 / 16f, 2 / 16f,
-                1 / 16f, 2 / 16f, 1 / 16f
-        };
-
-        Kernel kernel = new Kernel(3, 3, matrix);
-        ConvolveOp op = new ConvolveOp(kernel, ConvolveOp.EDGE_NO_OP, null);
-
-        return op.filter(image, null);
-    }
-
-    public BufferedImage detectEdges(BufferedImage image) {
-        int width = image.getWidth();
-        int height = image.getHeight();
-
-        BufferedImage edges = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-
-        int[][] sobelX = { { -1, 0, 1 }, { -2, 0, 2 }, { -1, 0, 1 } };
-        int[][] sobelY = { { -1, -2, -1 }, { 0, 0, 0 }, { 1, 2, 1 } };
-
-        for (int y = 1; y < height - 1; y++) {
-            for (int x = 1; x < width - 1; x++) {
-                int gx = 0, gy = 0;
-
-                for (int ky = -1; ky <= 1; ky++) {
-                    for (int kx = -1; kx <= 1; kx++) {
-                        int rgb = image.getRGB(x + kx, y + ky);
-                        int gray = rgb & 0xFF;
-
-                        gx += gray * sobelX[ky + 1][kx + 1];
-                        gy += gray * sobelY[ky + 1][kx + 1];
-                    }
-                }
-
-                int magnitude = (int) Math.sqrt(gx * gx + gy * gy);
-                magnitude = Math.min(255, magnitude);
-
-                int newRgb = (magnitude << 16) | (magnitude << 8) | magnitude;
-                edges.setRGB(x, y, newRgb);
-            }
-        }
-
-        return edges;
-    }
-
-    public BufferedImage preprocess(BufferedImage original) {
-        BufferedImage processed = convertToGrayscale(original);
-        processed = applyGaussianBlur(processed);
-        processed = normalizeHistogram(processed);
-        return processed;
-    }
-
-    public BufferedImage binarize(BufferedImage image) {
-        int width = image.getWidth();
-        int height = image.getHeight();
-
-        int[] histogram = new int[256];
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int gray = image.getRGB(x, y) & 0xFF;
-                histogram[gray]++;
-            }
-        }
-
-        int total = width * height;
-        float sum = 0;
-        for (int i = 0; i < 256; i++) {
-            sum += i * histogram[i];
-        }
-
-        float sumB = 0;
-        int wB = 0;
-        int wF = 0;
-        float maxVariance = 0;
-        int threshold = 0;
-
-        for (int t = 0; t < 256; t++) {
-            wB += histogram[t];
-            if (wB == 0)
-                continue;
-
-            wF = total - wB;
-            if (wF == 0)
-                break;
-
-            sumB += t * histogram[t];
-            float mB = sumB / wB;
-            float mF = (sum - sumB) / wF;
-
-            float variance = wB * wF * (mB - mF) * (mB - mF);
-
-            if (variance > maxVariance) {
-                maxVariance = variance;
-                threshold = t;
-            }
-        }
-
-        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int gray = image.getRGB(x, y) & 0xFF;
-                int newRgb = (gray > threshold) ? 0xFFFFFF : 0x000000;
-                binary.setRGB(x, y, newRgb);
-            }
-        }
-
-        return binary;
-    }
-}
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.util.concurrent.ForkJoinPool;
+
+public class ImagePreprocessor {
+
+    private static final ThreadLocal<RasterBuffers> BUFFERS = ThreadLocal.withInitial(RasterBuffers::new);
+
+    private static class RasterBuffers {
+        private int[][] rows = new int[3][0];
+        private int[] vertical = new int[0];
+        private final int[] histogram = new int[256];
+        private final int[] cdf = new int[256];
+        private final byte[] lut = new byte[256];
+        private BufferedImage grayScratch;
+
+        void ensureCapacity(int width) {
+            if (vertical.length < width) {
+                rows = new int[3][width];
+                vertical = new int[width];
+            }
+        }
+    }
+
+    // Fonte de linhas em cinza (valor cru do raster TYPE_BYTE_GRAY)
+    @FunctionalInterface
+    private interface GrayRows {
+        void read(int y, int[] dst);
+    }
+
+    public BufferedImage convertToGrayscale(BufferedImage original) {
+        BufferedImage grayscale = new BufferedImage(
+                original.getWidth(),
+                original.getHeight(),
+                BufferedImage.TYPE_BYTE_GRAY);
+
+        java.awt.Graphics2D g = grayscale.createGraphics();
+        g.drawImage(original, 0, 0, null);
+        g.dispose();
+
+        return grayscale;
+    }
+
+    public BufferedImage normalizeHistogram(BufferedImage image) {
+        return normalizeHistogram(image, ForkJoinPool.commonPool());
+    }
+
+    // Imagens grandes em formato comum rodam em faixas de linhas no pool, com o mesmo resultado
+    public BufferedImage normalizeHistogram(BufferedImage image, ForkJoinPool pool) {
+        RasterBands.RowReader rows = RasterBands.reader(image);
+        if (rows != null) {
+            return normalizeBands(image, rows, pool);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int[] histogram = new int[256];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int gray = rgb & 0xFF;
+                histogram[gray]++;
+            }
+        }
+
+        int[] cdf = new int[256];
+        cdf[0] = histogram[0];
+        for (int i = 1; i < 256; i++) {
+            cdf[i] = cdf[i - 1] + histogram[i];
+        }
+
+        int totalPixels = width * height;
+        int cdfMin = cdf[0];
+
+        BufferedImage normalized = new BufferedImage(width, height, image.getType());
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int gray = rgb & 0xFF;
+
+                int newGray = (int) (((cdf[gray] - cdfMin) * 255.0) / (totalPixels - cdfMin));
+                newGray = Math.max(0, Math.min(255, newGray));
+
+                int newRgb = (newGray << 16) | (newGray << 8) | newGray;
+                normalized.setRGB(x, y, newRgb);
+            }
+        }
+
+        return normalized;
+    }
+
+    public BufferedImage applyGaussianBlur(BufferedImage image) {
+        float[] matrix = {
+                1 / 16f, 2 / 16f, 1 / 16f,
+                2 / 16f, 4 / 16f, 2 / 16f,
+                1 / 16f, 2 / 16f, 1 / 16f
+        };
+
+        Kernel kernel = new Kernel(3, 3, matrix);
+        ConvolveOp op = new ConvolveOp(kernel, ConvolveOp.EDGE_NO_OP, null);
+
+        return op.filter(image, null);
+    }
+
+    public BufferedImage detectEdges(BufferedImage image) {
+        return detectEdges(image, ForkJoinPool.commonPool());
+    }
+
+    public BufferedImage detectEdges(BufferedImage image, ForkJoinPool pool) {
+        RasterBands.RowReader rows = RasterBands.reader(image);
+        if (rows != null) {
+            return detectEdgesBands(image, rows, pool);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        BufferedImage edges = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+
+        int[][] sobelX = { { -1, 0, 1 }, { -2, 0, 2 }, { -1, 0, 1 } };
+        int[][] sobelY = { { -1, -2, -1 }, { 0, 0, 0 }, { 1, 2, 1 } };
+
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                int gx = 0, gy = 0;
+
+                for (int ky = -1; ky <= 1; ky++) {
+                    for (int kx = -1; kx <= 1; kx++) {
+                        int rgb = image.getRGB(x + kx, y + ky);
+                        int gray = rgb & 0xFF;
+
+                        gx += gray * sobelX[ky + 1][kx + 1];
+                        gy += gray * sobelY[ky + 1][kx + 1];
+                    }
+                }
+
+                int magnitude = (int) Math.sqrt(gx * gx + gy * gy);
+                magnitude = Math.min(255, magnitude);
+
+                int newRgb = (magnitude << 16) | (magnitude << 8) | magnitude;
+                edges.setRGB(x, y, newRgb);
+            }
+        }
+
+        return edges;
+    }
+
+    public BufferedImage preprocess(BufferedImage original) {
+        return preprocessRaster(original, null);
+    }
+
+    // Mesmo resultado de preprocess(), trabalhando direto nos bytes do raster TYPE_BYTE_GRAY.
+    // Se target for nulo ou incompatível, um novo destino é alocado; os buffers de
+    // trabalho são por thread e reaproveitados entre chamadas.
+    // Cinza, blur e histograma saem de uma única varredura com três linhas em rodízio;
+    // depois só resta remapear o destino pela LUT da equalização.
+    public BufferedImage preprocessRaster(BufferedImage original, BufferedImage target) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+
+        BufferedImage output = GrayRaster.ensureGray(target, width, height);
+        RasterBuffers buffers = BUFFERS.get();
+        buffers.ensureCapacity(width);
+
+        byte[] out = GrayRaster.bytes(output);
+        java.util.Arrays.fill(buffers.histogram, 0);
+
+        blurRows(grayRows(original, buffers), out, width, height, buffers);
+        equalizeBytes(out, width * height, buffers);
+
+        return output;
+    }
+
+    private GrayRows grayRows(BufferedImage original, RasterBuffers buffers) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+
+        if (GrayRaster.isPlain(original, BufferedImage.TYPE_BYTE_GRAY)) {
+            return bytesRows(GrayRaster.bytes(original), width);
+        }
+
+        if (GrayRaster.isPlain(original, BufferedImage.TYPE_INT_RGB)) {
+            int[] data = GrayRaster.ints(original);
+            return (y, dst) -> {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    int rgb = data[i];
+                    dst[x] = GrayRaster.luminance((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+                }
+            };
+        }
+
+        if (GrayRaster.isPlain(original, BufferedImage.TYPE_3BYTE_BGR)) {
+            byte[] data = GrayRaster.bytes(original);
+            return (y, dst) -> {
+                for (int x = 0, j = y * width * 3; x < width; x++, j += 3) {
+                    dst[x] = GrayRaster.luminance(data[j + 2] & 0xFF, data[j + 1] & 0xFF, data[j] & 0xFF);
+                }
+            };
+        }
+
+        // Outros formatos: converte via Java2D numa imagem de trabalho reaproveitada
+        buffers.grayScratch = GrayRaster.ensureGray(buffers.grayScratch, width, height);
+        java.awt.Graphics2D g = buffers.grayScratch.createGraphics();
+        g.setComposite(java.awt.AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(java.awt.AlphaComposite.SrcOver);
+        g.drawImage(original, 0, 0, null);
+        g.dispose();
+        return bytesRows(GrayRaster.bytes(buffers.grayScratch), width);
+    }
+
+    private static GrayRows bytesRows(byte[] data, int width) {
+        return (y, dst) -> {
+            for (int x = 0, i = y * width; x < width; x++, i++) {
+                dst[x] = data[i] & 0xFF;
+            }
+        };
+    }
+
+    // Gaussiano 3x3 (1-2-1) com truncamento e bordas copiadas, como o ConvolveOp EDGE_NO_OP.
+    // Separável: soma vertical 1-2-1 das três linhas e depois horizontal, com a mesma soma inteira
+    // do kernel 3x3. Cada linha pronta já entra no histograma da equalização.
+    private void blurRows(GrayRows source, byte[] dst, int width, int height, RasterBuffers buffers) {
+        int[][] rows = buffers.rows;
+        int[] histogram = buffers.histogram;
+        int[] readLut = GrayRaster.READ_LUT;
+
+        if (width < 3 || height < 3) {
+            for (int y = 0; y < height; y++) {
+                source.read(y, rows[0]);
+                copyRow(rows[0], dst, y * width, width, histogram, readLut);
+            }
+            return;
+        }
+
+        int[] vertical = buffers.vertical;
+        source.read(0, rows[0]);
+        source.read(1, rows[1]);
+        copyRow(rows[0], dst, 0, width, histogram, readLut);
+
+        for (int y = 1; y < height - 1; y++) {
+            int[] above = rows[(y - 1) % 3];
+            int[] middle = rows[y % 3];
+            int[] below = rows[(y + 1) % 3];
+            source.read(y + 1, below);
+
+            for (int x = 0; x < width; x++) {
+                vertical[x] = above[x] + 2 * middle[x] + below[x];
+            }
+
+            int row = y * width;
+            int left = middle[0];
+            int right = middle[width - 1];
+            dst[row] = (byte) left;
+            dst[row + width - 1] = (byte) right;
+            histogram[readLut[left]]++;
+            histogram[readLut[right]]++;
+
+            for (int x = 1; x < width - 1; x++) {
+                int value = (vertical[x - 1] + 2 * vertical[x] + vertical[x + 1]) >> 4;
+                dst[row + x] = (byte) value;
+                histogram[readLut[value]]++;
+            }
+        }
+
+        copyRow(rows[(height - 1) % 3], dst, (height - 1) * width, width, histogram, readLut);
+    }
+
+    private static void copyRow(int[] row, byte[] dst, int offset, int width, int[] histogram, int[] readLut) {
+        for (int x = 0; x < width; x++) {
+            int value = row[x];
+            dst[offset + x] = (byte) value;
+            histogram[readLut[value]]++;
+        }
+    }
+
+    // Equalização idêntica a normalizeHistogram(), aplicada via LUT sobre os bytes lineares;
+    // o histograma já vem preenchido pela varredura do blur
+    private void equalizeBytes(byte[] data, int pixels, RasterBuffers buffers) {
+        int[] histogram = buffers.histogram;
+        int[] cdf = buffers.cdf;
+        byte[] lut = buffers.lut;
+        int[] readLut = GrayRaster.READ_LUT;
+
+        cdf[0] = histogram[0];
+        for (int i = 1; i < 256; i++) {
+            cdf[i] = cdf[i - 1] + histogram[i];
+        }
+
+        int cdfMin = cdf[0];
+        for (int v = 0; v < 256; v++) {
+            int gray = readLut[v];
+            int newGray = (int) (((cdf[gray] - cdfMin) * 255.0) / (pixels - cdfMin));
+            newGray = Math.max(0, Math.min(255, newGray));
+            lut[v] = (byte) GrayRaster.WRITE_LUT[newGray];
+        }
+
+        for (int i = 0; i < pixels; i++) {
+            data[i] = lut[data[i] & 0xFF];
+        }
+    }
+
+    public BufferedImage binarize(BufferedImage image) {
+        return binarize(image, ForkJoinPool.commonPool());
+    }
+
+    public BufferedImage binarize(BufferedImage image, ForkJoinPool pool) {
+        RasterBands.RowReader rows = RasterBands.reader(image);
+        if (rows != null) {
+            return binarizeBands(image, rows, pool);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int[] histogram = new int[256];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = image.getRGB(x, y) & 0xFF;
+                histogram[gray]++;
+            }
+        }
+
+        int threshold = otsuThreshold(histogram, width * height);
+
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = image.getRGB(x, y) & 0xFF;
+                int newRgb = (gray > threshold) ? 0xFFFFFF : 0x000000;
+                binary.setRGB(x, y, newRgb);
+            }
+        }
+
+        return binary;
+    }
+
+    private static int otsuThreshold(int[] histogram, int total) {
+        float sum = 0;
+        for (int i = 0; i < 256; i++) {
+            sum += i * histogram[i];
+        }
+
+        float sumB = 0;
+        int wB = 0;
+        int wF = 0;
+        float maxVariance = 0;
+        int threshold = 0;
+
+        for (int t = 0; t < 256; t++) {
+            wB += histogram[t];
+            if (wB == 0)
+                continue;
+
+            wF = total - wB;
+            if (wF == 0)
+                break;
+
+            sumB += t * histogram[t];
+            float mB = sumB / wB;
+            float mF = (sum - sumB) / wF;
+
+            float variance = wB * wF * (mB - mF) * (mB - mF);
+
+            if (variance > maxVariance) {
+                maxVariance = variance;
+                threshold = t;
+            }
+        }
+
+        return threshold;
+    }
+
+    private BufferedImage normalizeBands(BufferedImage image, RasterBands.RowReader rows, ForkJoinPool pool) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int totalPixels = width * height;
+
+        int[] histogram = RasterBands.histogram(pool, rows, width, height);
+        int[] cdf = new int[256];
+        cdf[0] = histogram[0];
+        for (int i = 1; i < 256; i++) {
+            cdf[i] = cdf[i - 1] + histogram[i];
+        }
+
+        int cdfMin = cdf[0];
+        int[] lut = new int[256];
+        for (int gray = 0; gray < 256; gray++) {
+            int newGray = (int) (((cdf[gray] - cdfMin) * 255.0) / (totalPixels - cdfMin));
+            lut[gray] = Math.max(0, Math.min(255, newGray));
+        }
+
+        BufferedImage normalized = new BufferedImage(width, height, image.getType());
+        RasterBands.RowWriter writer = RasterBands.grayWriter(normalized);
+
+        RasterBands.forEachBand(pool, 0, height, (from, to) -> {
+            int[] row = new int[width];
+            for (int y = from; y < to; y++) {
+                rows.read(y, row);
+                for (int x = 0; x < width; x++) {
+                    row[x] = lut[row[x]];
+                }
+                writer.write(y, row);
+            }
+        });
+
+        return normalized;
+    }
+
+    // Sobel com três linhas em rodízio por faixa; bordas ficam em zero como no caminho sequencial
+    private BufferedImage detectEdgesBands(BufferedImage image, RasterBands.RowReader rows, ForkJoinPool pool) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        BufferedImage edges = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] out = GrayRaster.bytes(edges);
+        int[] writeLut = GrayRaster.WRITE_LUT;
+
+        RasterBands.forEachBand(pool, 1, height - 1, (from, to) -> {
+            int[][] window = new int[3][width];
+            rows.read(from - 1, window[(from - 1) % 3]);
+            rows.read(from, window[from % 3]);
+
+            for (int y = from; y < to; y++) {
+                int[] above = window[(y - 1) % 3];
+                int[] middle = window[y % 3];
+                int[] below = window[(y + 1) % 3];
+                rows.read(y + 1, below);
+
+                int offset = y * width;
+                for (int x = 1; x < width - 1; x++) {
+                    int gx = above[x + 1] - above[x - 1] + 2 * (middle[x + 1] - middle[x - 1])
+                            + below[x + 1] - below[x - 1];
+                    int gy = below[x - 1] + 2 * below[x] + below[x + 1]
+                            - above[x - 1] - 2 * above[x] - above[x + 1];
+
+                    int magnitude = (int) Math.sqrt(gx * gx + gy * gy);
+                    magnitude = Math.min(255, magnitude);
+                    out[offset + x] = (byte) writeLut[magnitude];
+                }
+            }
+        });
+
+        return edges;
+    }
+
+    // TYPE_BYTE_BINARY guarda 8 pixels por byte, o mais significativo primeiro; bit 1 é branco
+    private BufferedImage binarizeBands(BufferedImage image, RasterBands.RowReader rows, ForkJoinPool pool) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        int threshold = otsuThreshold(RasterBands.histogram(pool, rows, width, height), width * height);
+
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        byte[] out = GrayRaster.bytes(binary);
+        int stride = ((MultiPixelPackedSampleModel) binary.getSampleModel()).getScanlineStride();
+
+        RasterBands.forEachBand(pool, 0, height, (from, to) -> {
+            int[] row = new int[width];
+            for (int y = from; y < to; y++) {
+                rows.read(y, row);
+                int offset = y * stride;
+                for (int x = 0; x < width; x++) {
+                    if (row[x] > threshold) {
+                        out[offset + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+            }
+        });
+
+        return binary;
+    }
+}
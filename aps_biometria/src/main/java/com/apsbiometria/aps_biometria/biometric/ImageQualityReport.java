@@ -0,0 +1,234 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+
+// Métricas de qualidade de uma imagem calculadas numa única passada amostrada (um pixel a cada
+// "stride" em cada direção), lendo o DataBuffer direto nos formatos comuns.
+public class ImageQualityReport {
+
+    public static final int DEFAULT_STRIDE = 4;
+
+    private static final int MIN_SIZE = 100;
+    private static final double MIN_BRIGHTNESS = 10.0;
+    private static final double MAX_BRIGHTNESS = 245.0;
+    private static final int EDGE_THRESHOLD = 40;
+    private static final int DARK_LIMIT = 5;
+    private static final int BRIGHT_LIMIT = 250;
+
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int samples;
+    private final double brightness;
+    private final double contrast;
+    private final double sharpness;
+    private final double saturation;
+    private final double edgeDensity;
+
+    private ImageQualityReport(int width, int height, int stride, int samples, double brightness,
+            double contrast, double sharpness, double saturation, double edgeDensity) {
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.samples = samples;
+        this.brightness = brightness;
+        this.contrast = contrast;
+        this.sharpness = sharpness;
+        this.saturation = saturation;
+        this.edgeDensity = edgeDensity;
+    }
+
+    public static ImageQualityReport analyze(BufferedImage image) {
+        return analyze(image, DEFAULT_STRIDE);
+    }
+
+    public static ImageQualityReport analyze(BufferedImage image, int stride) {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("Passo de amostragem inválido: " + stride);
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int columns = (width + stride - 1) / stride;
+        int rows = (height + stride - 1) / stride;
+        SampleReader reader = SampleReader.of(image);
+
+        // Três linhas amostradas em rodízio: o laplaciano da linha do meio sai na mesma passada
+        int[][] window = new int[3][columns];
+        long sum = 0;
+        long squares = 0;
+        int clipped = 0;
+        long lapSum = 0;
+        long lapSquares = 0;
+        int edges = 0;
+        int interior = 0;
+
+        for (int sy = 0; sy < rows; sy++) {
+            int[] row = window[sy % 3];
+            reader.read(sy * stride, stride, row);
+
+            for (int sx = 0; sx < columns; sx++) {
+                int value = row[sx];
+                sum += value;
+                squares += value * value;
+                if (value <= DARK_LIMIT || value >= BRIGHT_LIMIT) {
+                    clipped++;
+                }
+            }
+
+            if (sy >= 2) {
+                int[] above = window[(sy - 2) % 3];
+                int[] middle = window[(sy - 1) % 3];
+                for (int x = 1; x < columns - 1; x++) {
+                    int laplacian = middle[x - 1] + middle[x + 1] + above[x] + row[x] - 4 * middle[x];
+                    lapSum += laplacian;
+                    lapSquares += (long) laplacian * laplacian;
+
+                    int gradient = Math.abs(middle[x + 1] - middle[x - 1]) + Math.abs(row[x] - above[x]);
+                    if (gradient > EDGE_THRESHOLD) {
+                        edges++;
+                    }
+                    interior++;
+                }
+            }
+        }
+
+        int samples = columns * rows;
+        double mean = (double) sum / samples;
+        double contrast = Math.sqrt(Math.max(0.0, (double) squares / samples - mean * mean));
+        double sharpness = 0.0;
+        double edgeDensity = 0.0;
+        if (interior > 0) {
+            double lapMean = (double) lapSum / interior;
+            sharpness = (double) lapSquares / interior - lapMean * lapMean;
+            edgeDensity = (double) edges / interior;
+        }
+
+        return new ImageQualityReport(width, height, stride, samples, mean, contrast, sharpness,
+                (double) clipped / samples, edgeDensity);
+    }
+
+    // Mesmo critério do antigo validateImageQuality: tamanho mínimo e brilho médio fora dos extremos
+    public boolean isAcceptable() {
+        return width >= MIN_SIZE && height >= MIN_SIZE
+                && brightness > MIN_BRIGHTNESS && brightness < MAX_BRIGHTNESS;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    // Média de (r + g + b) / 3 nas amostras, de 0 a 255
+    public double getBrightness() {
+        return brightness;
+    }
+
+    // Desvio padrão do brilho
+    public double getContrast() {
+        return contrast;
+    }
+
+    // Variância do laplaciano na grade amostrada; valores baixos indicam imagem borrada
+    public double getSharpness() {
+        return sharpness;
+    }
+
+    // Fração das amostras praticamente pretas ou estouradas
+    public double getSaturation() {
+        return saturation;
+    }
+
+    // Fração das amostras em borda, aproximação barata da densidade de keypoints
+    public double getEdgeDensity() {
+        return edgeDensity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Qualidade %dx%d: brilho %.1f | contraste %.1f | nitidez %.1f | " +
+                "saturação %.3f | bordas %.3f | %s",
+                width, height, brightness, contrast, sharpness, saturation, edgeDensity,
+                isAcceptable() ? "ACEITA" : "REJEITADA");
+    }
+
+    // Lê uma linha amostrada como (r + g + b) / 3, o mesmo valor que getRGB daria
+    private abstract static class SampleReader {
+        final int width;
+
+        SampleReader(int width) {
+            this.width = width;
+        }
+
+        abstract void read(int y, int stride, int[] out);
+
+        static SampleReader of(BufferedImage image) {
+            int width = image.getWidth();
+
+            if (GrayRaster.isPlain(image, BufferedImage.TYPE_INT_RGB)
+                    || GrayRaster.isPlain(image, BufferedImage.TYPE_INT_ARGB)) {
+                int[] data = GrayRaster.ints(image);
+                return new SampleReader(width) {
+                    @Override
+                    void read(int y, int stride, int[] out) {
+                        int offset = y * width;
+                        for (int x = 0, i = 0; x < width; x += stride, i++) {
+                            int rgb = data[offset + x];
+                            out[i] = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                        }
+                    }
+                };
+            }
+
+            if (GrayRaster.isPlain(image, BufferedImage.TYPE_3BYTE_BGR)) {
+                byte[] data = GrayRaster.bytes(image);
+                return new SampleReader(width) {
+                    @Override
+                    void read(int y, int stride, int[] out) {
+                        int offset = y * width * 3;
+                        for (int x = 0, i = 0; x < width; x += stride, i++) {
+                            int p = offset + x * 3;
+                            out[i] = ((data[p] & 0xFF) + (data[p + 1] & 0xFF) + (data[p + 2] & 0xFF)) / 3;
+                        }
+                    }
+                };
+            }
+
+            if (GrayRaster.isPlain(image, BufferedImage.TYPE_BYTE_GRAY)) {
+                byte[] data = GrayRaster.bytes(image);
+                int[] readLut = GrayRaster.READ_LUT;
+                return new SampleReader(width) {
+                    @Override
+                    void read(int y, int stride, int[] out) {
+                        int offset = y * width;
+                        for (int x = 0, i = 0; x < width; x += stride, i++) {
+                            out[i] = readLut[data[offset + x] & 0xFF];
+                        }
+                    }
+                };
+            }
+
+            // Demais formatos: getRGB só nos pixels amostrados
+            return new SampleReader(width) {
+                @Override
+                void read(int y, int stride, int[] out) {
+                    for (int x = 0, i = 0; x < width; x += stride, i++) {
+                        int rgb = image.getRGB(x, y);
+                        out[i] = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                    }
+                }
+            };
+        }
+    }
+}
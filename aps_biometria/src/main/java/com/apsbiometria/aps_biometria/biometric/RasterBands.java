@@ -0,0 +1,201 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Execução em faixas de linhas no ForkJoinPool para os kernels do ImagePreprocessor. As faixas
+// leem e escrevem direto no raster; histogramas são contados por faixa e somados no final.
+final class RasterBands {
+
+    // Abaixo disso dividir não compensa e os kernels ficam no caminho sequencial
+    static final int PARALLEL_MIN_PIXELS = 256 * 256;
+
+    private static final int MIN_BAND_ROWS = 16;
+
+    @FunctionalInterface
+    interface RowReader {
+        // Preenche dst com getRGB(x, y) & 0xFF de cada pixel da linha y
+        void read(int y, int[] dst);
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        // Grava a linha y como setRGB(x, y, (v << 16) | (v << 8) | v) faria
+        void write(int y, int[] values);
+    }
+
+    @FunctionalInterface
+    interface BandAction {
+        void run(int from, int to);
+    }
+
+    private RasterBands() {
+    }
+
+    // null quando a imagem é pequena demais ou o formato não tem leitura direta
+    static RowReader reader(BufferedImage image) {
+        if (image == null || (long) image.getWidth() * image.getHeight() < PARALLEL_MIN_PIXELS) {
+            return null;
+        }
+
+        int width = image.getWidth();
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_BYTE_GRAY)) {
+            byte[] data = GrayRaster.bytes(image);
+            int[] readLut = GrayRaster.READ_LUT;
+            return (y, dst) -> {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    dst[x] = readLut[data[i] & 0xFF];
+                }
+            };
+        }
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_INT_RGB)
+                || GrayRaster.isPlain(image, BufferedImage.TYPE_INT_ARGB)) {
+            int[] data = GrayRaster.ints(image);
+            return (y, dst) -> {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    dst[x] = data[i] & 0xFF;
+                }
+            };
+        }
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_3BYTE_BGR)) {
+            byte[] data = GrayRaster.bytes(image);
+            return (y, dst) -> {
+                for (int x = 0, j = y * width * 3; x < width; x++, j += 3) {
+                    dst[x] = data[j] & 0xFF;
+                }
+            };
+        }
+
+        return null;
+    }
+
+    // Mesmos formatos de reader(); null para os demais
+    static RowWriter grayWriter(BufferedImage image) {
+        int width = image.getWidth();
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_BYTE_GRAY)) {
+            byte[] data = GrayRaster.bytes(image);
+            int[] writeLut = GrayRaster.WRITE_LUT;
+            return (y, values) -> {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    data[i] = (byte) writeLut[values[x]];
+                }
+            };
+        }
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_INT_RGB)
+                || GrayRaster.isPlain(image, BufferedImage.TYPE_INT_ARGB)) {
+            int[] data = GrayRaster.ints(image);
+            return (y, values) -> {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    data[i] = values[x] * 0x010101;
+                }
+            };
+        }
+
+        if (GrayRaster.isPlain(image, BufferedImage.TYPE_3BYTE_BGR)) {
+            byte[] data = GrayRaster.bytes(image);
+            return (y, values) -> {
+                for (int x = 0, j = y * width * 3; x < width; x++, j += 3) {
+                    byte v = (byte) values[x];
+                    data[j] = v;
+                    data[j + 1] = v;
+                    data[j + 2] = v;
+                }
+            };
+        }
+
+        return null;
+    }
+
+    // Executa action sobre faixas disjuntas de [from, to); cada faixa só escreve nas próprias linhas
+    static void forEachBand(ForkJoinPool pool, int from, int to, BandAction action) {
+        if (from >= to) {
+            return;
+        }
+        pool.invoke(new Band(action, from, to, bandRows(to - from, pool)));
+    }
+
+    static int[] histogram(ForkJoinPool pool, RowReader rows, int width, int height) {
+        if (height <= 0) {
+            return new int[256];
+        }
+        return pool.invoke(new HistogramBand(rows, width, 0, height, bandRows(height, pool)));
+    }
+
+    private static int bandRows(int rows, ForkJoinPool pool) {
+        return Math.max(MIN_BAND_ROWS, rows / (pool.getParallelism() * 4));
+    }
+
+    private static class Band extends RecursiveAction {
+        private final BandAction action;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+
+        Band(BandAction action, int from, int to, int bandRows) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= bandRows) {
+                action.run(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Band(action, from, middle, bandRows), new Band(action, middle, to, bandRows));
+        }
+    }
+
+    private static class HistogramBand extends RecursiveTask<int[]> {
+        private final RowReader rows;
+        private final int width;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+
+        HistogramBand(RowReader rows, int width, int from, int to, int bandRows) {
+            this.rows = rows;
+            this.width = width;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= bandRows) {
+                int[] histogram = new int[256];
+                int[] row = new int[width];
+                for (int y = from; y < to; y++) {
+                    rows.read(y, row);
+                    for (int x = 0; x < width; x++) {
+                        histogram[row[x]]++;
+                    }
+                }
+                return histogram;
+            }
+
+            int middle = (from + to) >>> 1;
+            HistogramBand left = new HistogramBand(rows, width, from, middle, bandRows);
+            HistogramBand right = new HistogramBand(rows, width, middle, to, bandRows);
+            left.fork();
+            int[] result = right.compute();
+            int[] other = left.join();
+            for (int i = 0; i < 256; i++) {
+                result[i] += other[i];
+            }
+            return result;
+        }
+    }
+}
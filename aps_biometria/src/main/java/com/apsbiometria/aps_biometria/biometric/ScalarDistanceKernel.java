@@ -0,0 +1,52 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public String getName() {
+        return "Escalar";
+    }
+
+    @Override
+    public double squaredDistance(double[] v1, double[] v2) {
+        double sum = 0.0;
+
+        for (int i = 0; i < v1.length; i++) {
+            double diff = v1[i] - v2[i];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+
+    @Override
+    public double cosineSimilarity(double[] v1, double[] v2) {
+        double dotProduct = 0.0;
+        double norm1 = 0.0;
+        double norm2 = 0.0;
+
+        for (int i = 0; i < v1.length; i++) {
+            dotProduct += v1[i] * v2[i];
+            norm1 += v1[i] * v1[i];
+            norm2 += v2[i] * v2[i];
+        }
+
+        if (norm1 == 0.0 || norm2 == 0.0) {
+            return 0.0;
+        }
+
+        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    }
+
+    @Override
+    public float squaredDistance(float[] probe, float[] vectors, int offset, int dimension) {
+        float sum = 0.0f;
+
+        for (int i = 0; i < dimension; i++) {
+            float diff = probe[i] - vectors[offset + i];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,107 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+class TopKHeap {
+
+    private final int capacity;
+    private final double[] scores;
+    private final int[] rows;
+    private int size;
+
+    TopKHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("k deve ser maior que zero");
+        }
+        this.capacity = capacity;
+        this.scores = new double[capacity];
+        this.rows = new int[capacity];
+        this.size = 0;
+    }
+
+    void offer(double score, int row) {
+        if (size < capacity) {
+            scores[size] = score;
+            rows[size] = row;
+            siftUp(size++);
+        } else if (isWorse(scores[0], rows[0], score, row)) {
+            scores[0] = score;
+            rows[0] = row;
+            siftDown(0);
+        }
+    }
+
+    void merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.scores[i], other.rows[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    double scoreAt(int index) {
+        return scores[index];
+    }
+
+    int rowAt(int index) {
+        return rows[index];
+    }
+
+    // Ordena do melhor para o pior; depois disso o heap não aceita mais ofertas
+    void sortDescending() {
+        int count = size;
+        while (size > 1) {
+            swap(0, size - 1);
+            size--;
+            siftDown(0);
+        }
+        size = count;
+    }
+
+    // Menor score perde; em empate, a linha mais alta perde (mesma ordem da busca sequencial)
+    private static boolean isWorse(double scoreA, int rowA, double scoreB, int rowB) {
+        if (scoreA != scoreB) {
+            return scoreA < scoreB;
+        }
+        return rowA > rowB;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isWorse(scores[index], rows[index], scores[parent], rows[parent])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int worst = left;
+            if (right < size && isWorse(scores[right], rows[right], scores[left], rows[left])) {
+                worst = right;
+            }
+            if (!isWorse(scores[worst], rows[worst], scores[index], rows[index])) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+}
@@ -0,0 +1,92 @@
+package com.apsbiometria.aps_biometria.biometric;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorDistanceKernel implements DistanceKernel {
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "SIMD (" + FLOAT_SPECIES.vectorBitSize() + " bits)";
+    }
+
+    @Override
+    public double squaredDistance(double[] v1, double[] v2) {
+        DoubleVector acc = DoubleVector.zero(DOUBLE_SPECIES);
+        int bound = DOUBLE_SPECIES.loopBound(v1.length);
+        int i = 0;
+
+        for (; i < bound; i += DOUBLE_SPECIES.length()) {
+            DoubleVector diff = DoubleVector.fromArray(DOUBLE_SPECIES, v1, i)
+                    .sub(DoubleVector.fromArray(DOUBLE_SPECIES, v2, i));
+            acc = diff.fma(diff, acc);
+        }
+
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++) {
+            double diff = v1[i] - v2[i];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+
+    @Override
+    public double cosineSimilarity(double[] v1, double[] v2) {
+        DoubleVector dotAcc = DoubleVector.zero(DOUBLE_SPECIES);
+        DoubleVector norm1Acc = DoubleVector.zero(DOUBLE_SPECIES);
+        DoubleVector norm2Acc = DoubleVector.zero(DOUBLE_SPECIES);
+        int bound = DOUBLE_SPECIES.loopBound(v1.length);
+        int i = 0;
+
+        for (; i < bound; i += DOUBLE_SPECIES.length()) {
+            DoubleVector a = DoubleVector.fromArray(DOUBLE_SPECIES, v1, i);
+            DoubleVector b = DoubleVector.fromArray(DOUBLE_SPECIES, v2, i);
+            dotAcc = a.fma(b, dotAcc);
+            norm1Acc = a.fma(a, norm1Acc);
+            norm2Acc = b.fma(b, norm2Acc);
+        }
+
+        double dotProduct = dotAcc.reduceLanes(VectorOperators.ADD);
+        double norm1 = norm1Acc.reduceLanes(VectorOperators.ADD);
+        double norm2 = norm2Acc.reduceLanes(VectorOperators.ADD);
+
+        for (; i < v1.length; i++) {
+            dotProduct += v1[i] * v2[i];
+            norm1 += v1[i] * v1[i];
+            norm2 += v2[i] * v2[i];
+        }
+
+        if (norm1 == 0.0 || norm2 == 0.0) {
+            return 0.0;
+        }
+
+        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    }
+
+    @Override
+    public float squaredDistance(float[] probe, float[] vectors, int offset, int dimension) {
+        FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+        int bound = FLOAT_SPECIES.loopBound(dimension);
+        int i = 0;
+
+        for (; i < bound; i += FLOAT_SPECIES.length()) {
+            FloatVector diff = FloatVector.fromArray(FLOAT_SPECIES, probe, i)
+                    .sub(FloatVector.fromArray(FLOAT_SPECIES, vectors, offset + i));
+            acc = diff.fma(diff, acc);
+        }
+
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            float diff = probe[i] - vectors[offset + i];
+            sum += diff * diff;
+        }
+
+        return sum;
+    }
+}
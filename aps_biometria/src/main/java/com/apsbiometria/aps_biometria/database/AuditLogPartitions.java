@@ -0,0 +1,149 @@
+package com.apsbiometria.aps_biometria.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Logs de auditoria particionados por mês em tabelas audit_logs_AAAAMM. A tabela original
+// audit_logs continua existindo com o histórico anterior ao particionamento e entra em toda leitura.
+public class AuditLogPartitions {
+
+    public static final String LEGACY_TABLE = "audit_logs";
+    public static final String COLUMNS = "id, user_id, user_name, action_type, access_level, success, " +
+            "ip_address, description, timestamp, biometric_score";
+
+    private static final String PREFIX = "audit_logs_";
+    private static final Pattern PARTITION_NAME = Pattern.compile("(?i)audit_logs_(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NavigableSet<YearMonth> partitions;
+    private volatile boolean loaded;
+
+    AuditLogPartitions() {
+        this.partitions = new ConcurrentSkipListSet<>();
+    }
+
+    public static YearMonth monthOf(Date date) {
+        return YearMonth.from(Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()));
+    }
+
+    public static String tableName(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    // Cria a partição do mês na primeira gravação; as seguintes só consultam o conjunto em memória
+    public String ensurePartition(Connection conn, Date timestamp) throws SQLException {
+        YearMonth month = monthOf(timestamp);
+        load(conn);
+        if (!partitions.contains(month)) {
+            createPartition(conn, month);
+        }
+        return tableName(month);
+    }
+
+    // Tabelas que podem conter logs entre from e to (qualquer limite pode ser null), mais recentes
+    // primeiro. Partições fora do intervalo ficam de fora da consulta.
+    public List<String> tablesFor(Connection conn, Date from, Date to) throws SQLException {
+        load(conn);
+
+        NavigableSet<YearMonth> range = partitions;
+        if (from != null && to != null && monthOf(from).isAfter(monthOf(to))) {
+            range = new ConcurrentSkipListSet<>();
+        } else if (from != null && to != null) {
+            range = partitions.subSet(monthOf(from), true, monthOf(to), true);
+        } else if (from != null) {
+            range = partitions.tailSet(monthOf(from), true);
+        } else if (to != null) {
+            range = partitions.headSet(monthOf(to), true);
+        }
+
+        List<String> tables = new ArrayList<>(range.size() + 1);
+        for (YearMonth month : range.descendingSet()) {
+            tables.add(tableName(month));
+        }
+        tables.add(LEGACY_TABLE);
+        return tables;
+    }
+
+    public List<YearMonth> getPartitions(Connection conn) throws SQLException {
+        load(conn);
+        return new ArrayList<>(partitions);
+    }
+
+    public synchronized void dropPartition(Connection conn, YearMonth month) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + tableName(month));
+        }
+        partitions.remove(month);
+    }
+
+    // Esquece as partições conhecidas; a próxima operação relê o catálogo do banco
+    synchronized void reset() {
+        partitions.clear();
+        loaded = false;
+    }
+
+    private void load(Connection conn) throws SQLException {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            DatabaseMetaData metaData = conn.getMetaData();
+            try (ResultSet rs = metaData.getTables(null, null, "%", null)) {
+                while (rs.next()) {
+                    Matcher matcher = PARTITION_NAME.matcher(rs.getString("TABLE_NAME"));
+                    if (matcher.matches()) {
+                        partitions.add(YearMonth.parse(matcher.group(1), SUFFIX));
+                    }
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private synchronized void createPartition(Connection conn, YearMonth month) throws SQLException {
+        if (partitions.contains(month)) {
+            return;
+        }
+
+        String table = tableName(month);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "id VARCHAR(36) PRIMARY KEY," +
+                    "user_id VARCHAR(36)," +
+                    "user_name VARCHAR(255)," +
+                    "action_type VARCHAR(50) NOT NULL," +
+                    "access_level INTEGER," +
+                    "success BOOLEAN NOT NULL," +
+                    "ip_address VARCHAR(45)," +
+                    "description TEXT," +
+                    "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "biometric_score DOUBLE," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL" +
+                    ")");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_user ON " + table + "(user_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_timestamp_id ON " + table + "(timestamp, id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_action ON " + table + "(action_type)");
+        }
+
+        partitions.add(month);
+        System.out.println("✓ Partição de auditoria criada: " + table);
+    }
+}
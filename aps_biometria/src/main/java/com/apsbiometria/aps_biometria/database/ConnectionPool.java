@@ -0,0 +1,493 @@
+package com.apsbiometria.aps_biometria.database;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+public class ConnectionPool implements DataSource {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long VALIDATION_INTERVAL_MILLIS = 1000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PhysicalConnection> idle;
+    private final AtomicInteger totalCount;
+    private final ScheduledExecutorService evictor;
+    private final LongAdder statementCacheHits;
+    private final LongAdder statementCacheMisses;
+    private volatile boolean closed;
+
+    // Conexão física, o instante em que voltou ao pool e seus PreparedStatements ociosos por SQL.
+    // Só quem pegou a conexão emprestada mexe no cache, então ele não precisa de sincronização.
+    private static class PhysicalConnection {
+        final Connection connection;
+        final Map<String, PreparedStatement> statements;
+        volatile long lastUsed;
+
+        PhysicalConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.lastUsed = System.currentTimeMillis();
+            this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+            long idleTimeoutMillis, long acquireTimeoutMillis) throws SQLException {
+        this(url, user, password, minSize, maxSize, idleTimeoutMillis, acquireTimeoutMillis, 0);
+    }
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+            long idleTimeoutMillis, long acquireTimeoutMillis, int statementCacheSize) throws SQLException {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize || statementCacheSize < 0) {
+            throw new IllegalArgumentException("Tamanho de pool inválido: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.statementCacheHits = new LongAdder();
+        this.statementCacheMisses = new LongAdder();
+        this.permits = new Semaphore(maxSize, true);
+        this.idle = new ConcurrentLinkedDeque<>();
+        this.totalCount = new AtomicInteger();
+        this.closed = false;
+
+        for (int i = 0; i < minSize; i++) {
+            idle.push(openPhysical());
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "biometria-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool de conexões encerrado");
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tempo esgotado aguardando conexão do pool (máx " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando conexão do pool");
+        }
+
+        try {
+            return wrap(borrowPhysical());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool usa credenciais fixas");
+    }
+
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        PhysicalConnection physical;
+        while ((physical = idle.poll()) != null) {
+            closePhysical(physical);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    private PhysicalConnection borrowPhysical() throws SQLException {
+        PhysicalConnection physical;
+        while ((physical = idle.poll()) != null) {
+            if (isUsable(physical)) {
+                return physical;
+            }
+            closePhysical(physical);
+        }
+        return openPhysical();
+    }
+
+    // Conexões usadas há pouco são devolvidas sem ida ao banco; as demais passam por isValid
+    private boolean isUsable(PhysicalConnection physical) {
+        try {
+            if (physical.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - physical.lastUsed < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            return physical.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PhysicalConnection physical, boolean broken) {
+        try {
+            if (broken || closed || !resetState(physical.connection)) {
+                closePhysical(physical);
+            } else {
+                physical.lastUsed = System.currentTimeMillis();
+                idle.push(physical);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean resetState(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PhysicalConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalCount.get() > minSize) {
+            PhysicalConnection physical = it.next();
+            if (now - physical.lastUsed >= idleTimeoutMillis && idle.remove(physical)) {
+                closePhysical(physical);
+            }
+        }
+    }
+
+    private PhysicalConnection openPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        totalCount.incrementAndGet();
+        return new PhysicalConnection(connection, statementCacheSize);
+    }
+
+    private void closePhysical(PhysicalConnection physical) {
+        totalCount.decrementAndGet();
+        physical.statements.clear();
+        try {
+            physical.connection.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar conexão do pool: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar statement em cache: " + e.getMessage());
+        }
+    }
+
+    private Connection wrap(PhysicalConnection physical) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new PooledConnectionHandler(physical));
+    }
+
+    // Conexão lógica entregue ao chamador: close() devolve a conexão física ao pool
+    private class PooledConnectionHandler implements InvocationHandler {
+
+        private final PhysicalConnection physical;
+        private final List<CachedStatementHandler> openStatements;
+        private boolean logicallyClosed;
+        private boolean broken;
+
+        PooledConnectionHandler(PhysicalConnection physical) {
+            this.physical = physical;
+            this.openStatements = new ArrayList<>();
+            this.logicallyClosed = false;
+            this.broken = false;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!logicallyClosed) {
+                        // Statements esquecidos abertos voltam ao cache antes da conexão voltar ao pool
+                        for (CachedStatementHandler statement : new ArrayList<>(openStatements)) {
+                            statement.checkIn();
+                        }
+                        logicallyClosed = true;
+                        release(physical, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || physical.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical.connection + "]";
+                default:
+                    break;
+            }
+
+            if (logicallyClosed) {
+                throw new SQLException("Conexão já devolvida ao pool");
+            }
+
+            if (statementCacheSize > 0 && method.getName().equals("prepareStatement")
+                    && args.length == 1) {
+                return prepareCached((Connection) proxy, (String) args[0]);
+            }
+
+            return delegate(physical.connection, method, args);
+        }
+
+        private Object delegate(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isFatal((SQLException) cause)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        private PreparedStatement prepareCached(Connection proxy, String sql) throws Throwable {
+            PreparedStatement statement = physical.statements.remove(sql);
+            if (statement != null && !statement.isClosed()) {
+                statementCacheHits.increment();
+            } else {
+                statementCacheMisses.increment();
+                try {
+                    statement = physical.connection.prepareStatement(sql);
+                } catch (SQLException e) {
+                    if (isFatal(e)) {
+                        broken = true;
+                    }
+                    throw e;
+                }
+            }
+
+            CachedStatementHandler handler = new CachedStatementHandler(this, proxy, sql, statement);
+            openStatements.add(handler);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, handler);
+        }
+
+        // Devolve o statement ao cache da conexão; se já houver outro para o mesmo SQL, fecha este
+        private void checkIn(CachedStatementHandler handler) {
+            openStatements.remove(handler);
+            PreparedStatement statement = handler.statement;
+            try {
+                if (broken || statement.isClosed()) {
+                    return;
+                }
+                // Sem o cache, fechar o statement liberava o cursor; um ResultSet esquecido aberto
+                // ficaria preso na conexão até o SQL ser reutilizado
+                ResultSet resultSet = statement.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                statement.setMaxRows(0);
+                statement.setFetchSize(0);
+                if (physical.statements.containsKey(handler.sql)) {
+                    statement.close();
+                } else {
+                    physical.statements.put(handler.sql, statement);
+                }
+            } catch (SQLException e) {
+                closeQuietly(statement);
+            }
+        }
+
+        // SQLState classe 08 = falha de conexão; não volta para o pool
+        private boolean isFatal(SQLException e) {
+            String state = e.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+    }
+
+    // PreparedStatement lógico: close() devolve o statement físico ao cache em vez de fechá-lo
+    private static class CachedStatementHandler implements InvocationHandler {
+
+        private final PooledConnectionHandler owner;
+        private final Connection connection;
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean logicallyClosed;
+
+        CachedStatementHandler(PooledConnectionHandler owner, Connection connection, String sql,
+                PreparedStatement statement) {
+            this.owner = owner;
+            this.connection = connection;
+            this.sql = sql;
+            this.statement = statement;
+            this.logicallyClosed = false;
+        }
+
+        void checkIn() {
+            if (!logicallyClosed) {
+                logicallyClosed = true;
+                owner.checkIn(this);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    checkIn();
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || statement.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + sql + "]";
+                default:
+                    break;
+            }
+
+            if (logicallyClosed) {
+                throw new SQLException("Statement já fechado");
+            }
+
+            return owner.delegate(statement, method, args);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Não é wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
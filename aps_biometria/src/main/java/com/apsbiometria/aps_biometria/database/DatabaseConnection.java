@@ -1,193 +1,322 @@
-package com.apsbiometria.aps_biometria.database;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.sql.Statement;
-
-public class DatabaseConnection {
-
-    private static final String H2_URL = "jdbc:h2:./data/biometric_db;AUTO_SERVER=TRUE";
-    private static final String H2_USER = "sa";
-    private static final String H2_PASSWORD = "";
-
-    private static final String PG_URL = "jdbc:postgresql://localhost:5432/biometric_db";
-    private static final String PG_USER = "postgres";
-    private static final String PG_PASSWORD = "postgres";
-
-    private static DatabaseConnection instance;
-    private Connection connection;
-    private DatabaseType currentDbType;
-
-    public enum DatabaseType {
-        H2, POSTGRESQL
-    }
-
-    private DatabaseConnection() {
-        this.currentDbType = DatabaseType.H2; // Padrão H2
-    }
-
-    public static DatabaseConnection getInstance() {
-        if (instance == null) {
-            synchronized (DatabaseConnection.class) {
-                if (instance == null) {
-                    instance = new DatabaseConnection();
-                }
-            }
-        }
-        return instance;
-    }
-
-    public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connect();
-        }
-        return connection;
-    }
-
-    private void connect() throws SQLException {
-        try {
-            if (currentDbType == DatabaseType.H2) {
-                Class.forName("org.h2.Driver");
-                connection = DriverManager.getConnection(H2_URL, H2_USER, H2_PASSWORD);
-                System.out.println("✓ Conectado ao H2 Database");
-            } else {
-                Class.forName("org.postgresql.Driver");
-                connection = DriverManager.getConnection(PG_URL, PG_USER, PG_PASSWORD);
-                System.out.println("✓ Conectado ao PostgreSQL Database");
-            }
-
-            initializeTables();
-
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Driver do banco de dados não encontrado: " + e.getMessage());
-        }
-    }
-
-    private void initializeTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
-                    "id VARCHAR(36) PRIMARY KEY," +
-                    "name VARCHAR(255) NOT NULL," +
-                    "email VARCHAR(255) UNIQUE NOT NULL," +
-                    "cpf VARCHAR(14) UNIQUE NOT NULL," +
-                    "access_level INTEGER NOT NULL," +
-                    "department VARCHAR(255)," +
-                    "active BOOLEAN DEFAULT TRUE," +
-                    "registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "last_access_date TIMESTAMP," +
-                    "failed_attempts INTEGER DEFAULT 0," +
-                    "locked BOOLEAN DEFAULT FALSE" +
-                    ")");
-
-            stmt.execute("CREATE TABLE IF NOT EXISTS biometric_data (" +
-                    "id VARCHAR(36) PRIMARY KEY," +
-                    "user_id VARCHAR(36) NOT NULL," +
-                    "biometric_type VARCHAR(50) NOT NULL," +
-                    "feature_vector TEXT NOT NULL," +
-                    "template TEXT," +
-                    "quality_score DOUBLE NOT NULL," +
-                    "capture_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "last_update_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "active BOOLEAN DEFAULT TRUE," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE" +
-                    ")");
-
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_biometric_user " +
-                    "ON biometric_data(user_id)");
-
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_biometric_type " +
-                    "ON biometric_data(biometric_type)");
-
-            stmt.execute("CREATE TABLE IF NOT EXISTS audit_logs (" +
-                    "id VARCHAR(36) PRIMARY KEY," +
-                    "user_id VARCHAR(36)," +
-                    "user_name VARCHAR(255)," +
-                    "action_type VARCHAR(50) NOT NULL," +
-                    "access_level INTEGER," +
-                    "success BOOLEAN NOT NULL," +
-                    "ip_address VARCHAR(45)," +
-                    "description TEXT," +
-                    "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "biometric_score DOUBLE," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL" +
-                    ")");
-
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_user " +
-                    "ON audit_logs(user_id)");
-
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_timestamp " +
-                    "ON audit_logs(timestamp)");
-
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_action " +
-                    "ON audit_logs(action_type)");
-
-            System.out.println("✓ Tabelas inicializadas com sucesso");
-        }
-    }
-
-    public void switchDatabase(DatabaseType dbType) throws SQLException {
-        this.currentDbType = dbType;
-        closeConnection();
-        connect();
-    }
-
-    public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Conexão com banco fechada");
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao fechar conexão: " + e.getMessage());
-        }
-    }
-
-    public boolean testConnection() {
-        try {
-            Connection conn = getConnection();
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
-            System.err.println("Erro ao testar conexão: " + e.getMessage());
-            return false;
-        }
-    }
-
-    public void clearAllTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("DELETE FROM audit_logs");
-            stmt.execute("DELETE FROM biometric_data");
-            stmt.execute("DELETE FROM users");
-            System.out.println("✓ Todas as tabelas foram limpas");
-        }
-    }
-
-    public String getDatabaseInfo() throws SQLException {
-        StringBuilder info = new StringBuilder();
-        info.append("=== INFORMAÇÕES DO BANCO ===\n");
-        info.append("Tipo: ").append(currentDbType).append("\n");
-        info.append("Status: ").append(testConnection() ? "CONECTADO" : "DESCONECTADO").append("\n");
-
-        if (testConnection()) {
-            try (Statement stmt = connection.createStatement()) {
-                var rs = stmt.executeQuery("SELECT COUNT(*) FROM users");
-                if (rs.next()) {
-                    info.append("Usuários: ").append(rs.getInt(1)).append("\n");
-                }
-
-                rs = stmt.executeQuery("SELECT COUNT(*) FROM biometric_data");
-                if (rs.next()) {
-                    info.append("Dados Biométricos: ").append(rs.getInt(1)).append("\n");
-                }
-
-                rs = stmt.executeQuery("SELECT COUNT(*) FROM audit_logs");
-                if (rs.next()) {
-                    info.append("Logs de Auditoria: ").append(rs.getInt(1)).append("\n");
-                }
-            }
-        }
-        info.append("===========================\n");
-        return info.toString();
-    }
-}
+package com.apsbiometria.aps_biometria.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+public class DatabaseConnection {
+
+    private static final String H2_URL = "jdbc:h2:./data/biometric_db;AUTO_SERVER=TRUE";
+    private static final String H2_USER = "sa";
+    private static final String H2_PASSWORD = "";
+
+    private static final String PG_URL = "jdbc:postgresql://localhost:5432/biometric_db";
+    private static final String PG_USER = "postgres";
+    private static final String PG_PASSWORD = "postgres";
+
+    private static final int DEFAULT_POOL_MIN_SIZE = 2;
+    private static final int DEFAULT_POOL_MAX_SIZE = 10;
+    private static final long DEFAULT_POOL_IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000;
+    private static final long POOL_ACQUIRE_TIMEOUT_MILLIS = 10 * 1000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private static DatabaseConnection instance;
+    private Connection connection;
+    private volatile ConnectionPool pool;
+    private DatabaseType currentDbType;
+    private String h2Url;
+    private boolean poolingEnabled;
+    private int poolMinSize;
+    private int poolMaxSize;
+    private long poolIdleTimeoutMillis;
+    private int statementCacheSize;
+    private boolean schemaReady;
+    private final List<Runnable> shutdownTasks;
+    private final List<Runnable> invalidationListeners;
+    private final AuditLogPartitions auditLogPartitions;
+
+    public enum DatabaseType {
+        H2, POSTGRESQL
+    }
+
+    private DatabaseConnection() {
+        this.currentDbType = DatabaseType.H2; // Padrão H2
+        this.h2Url = System.getProperty("biometria.db.h2.url", H2_URL);
+        this.poolingEnabled = !"false".equalsIgnoreCase(System.getProperty("biometria.db.pool"));
+        this.poolMinSize = Integer.getInteger("biometria.db.pool.min", DEFAULT_POOL_MIN_SIZE);
+        this.poolMaxSize = Integer.getInteger("biometria.db.pool.max", DEFAULT_POOL_MAX_SIZE);
+        this.poolIdleTimeoutMillis = Long.getLong("biometria.db.pool.idleTimeoutMs", DEFAULT_POOL_IDLE_TIMEOUT_MILLIS);
+        this.statementCacheSize = Integer.getInteger("biometria.db.pool.statementCache", DEFAULT_STATEMENT_CACHE_SIZE);
+        this.shutdownTasks = new CopyOnWriteArrayList<>();
+        this.invalidationListeners = new CopyOnWriteArrayList<>();
+        this.auditLogPartitions = new AuditLogPartitions();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "biometria-db-shutdown"));
+    }
+
+    public static DatabaseConnection getInstance() {
+        if (instance == null) {
+            synchronized (DatabaseConnection.class) {
+                if (instance == null) {
+                    instance = new DatabaseConnection();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Com pool, cada chamada recebe uma conexão própria; close() a devolve ao pool
+    public Connection getConnection() throws SQLException {
+        if (poolingEnabled) {
+            return getPool().getConnection();
+        }
+        synchronized (this) {
+            if (connection == null || connection.isClosed()) {
+                connect();
+            }
+            return connection;
+        }
+    }
+
+    public synchronized void configurePool(int minSize, int maxSize, long idleTimeoutMillis) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Configuração de pool inválida");
+        }
+        this.poolMinSize = minSize;
+        this.poolMaxSize = maxSize;
+        this.poolIdleTimeoutMillis = idleTimeoutMillis;
+        shutdownPool();
+    }
+
+    // Tamanho do cache de PreparedStatement por conexão do pool; 0 desativa
+    public synchronized void setStatementCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Tamanho de cache inválido: " + size);
+        }
+        this.statementCacheSize = size;
+        shutdownPool();
+    }
+
+    public long getStatementCacheHits() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatementCacheHits() : 0;
+    }
+
+    public long getStatementCacheMisses() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatementCacheMisses() : 0;
+    }
+
+    public AuditLogPartitions getAuditLogPartitions() {
+        return auditLogPartitions;
+    }
+
+    public synchronized void setPoolingEnabled(boolean enabled) {
+        if (this.poolingEnabled != enabled) {
+            closeConnection();
+            this.poolingEnabled = enabled;
+        }
+    }
+
+    public boolean isPoolingEnabled() {
+        return poolingEnabled;
+    }
+
+    private ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null && !current.isClosed()) {
+            return current;
+        }
+        return startPool();
+    }
+
+    private synchronized ConnectionPool startPool() throws SQLException {
+        if (pool == null || pool.isClosed()) {
+            loadDriver();
+            ConnectionPool created = currentDbType == DatabaseType.H2
+                    ? new ConnectionPool(h2Url, H2_USER, H2_PASSWORD, poolMinSize, poolMaxSize,
+                            poolIdleTimeoutMillis, POOL_ACQUIRE_TIMEOUT_MILLIS, statementCacheSize)
+                    : new ConnectionPool(PG_URL, PG_USER, PG_PASSWORD, poolMinSize, poolMaxSize,
+                            poolIdleTimeoutMillis, POOL_ACQUIRE_TIMEOUT_MILLIS, statementCacheSize);
+
+            try (Connection conn = created.getConnection()) {
+                ensureSchema(conn);
+            } catch (SQLException e) {
+                created.shutdown();
+                throw e;
+            }
+
+            pool = created;
+            System.out.println("✓ Pool de conexões " + currentDbType + " iniciado (min=" + poolMinSize +
+                    ", max=" + poolMaxSize + ")");
+        }
+        return pool;
+    }
+
+    private void connect() throws SQLException {
+        loadDriver();
+        if (currentDbType == DatabaseType.H2) {
+            connection = DriverManager.getConnection(h2Url, H2_USER, H2_PASSWORD);
+            System.out.println("✓ Conectado ao H2 Database");
+        } else {
+            connection = DriverManager.getConnection(PG_URL, PG_USER, PG_PASSWORD);
+            System.out.println("✓ Conectado ao PostgreSQL Database");
+        }
+
+        ensureSchema(connection);
+    }
+
+    private void loadDriver() throws SQLException {
+        try {
+            Class.forName(currentDbType == DatabaseType.H2 ? "org.h2.Driver" : "org.postgresql.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver do banco de dados não encontrado: " + e.getMessage());
+        }
+    }
+
+    // Migrações rodam uma vez por banco; reconexões posteriores não executam DDL
+    private synchronized void ensureSchema(Connection conn) throws SQLException {
+        if (!schemaReady) {
+            new SchemaMigrator(currentDbType).migrate(conn);
+            schemaReady = true;
+        }
+    }
+
+    public synchronized void switchDatabase(DatabaseType dbType) throws SQLException {
+        this.currentDbType = dbType;
+        this.schemaReady = false;
+        auditLogPartitions.reset();
+        notifyInvalidation();
+        closeConnection();
+        if (poolingEnabled) {
+            getPool();
+        } else {
+            connect();
+        }
+    }
+
+    public synchronized void closeConnection() {
+        shutdownPool();
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+                System.out.println("✓ Conexão com banco fechada");
+            }
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar conexão: " + e.getMessage());
+        }
+    }
+
+    private synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+            System.out.println("✓ Pool de conexões encerrado");
+        }
+    }
+
+    // Tarefas que precisam do banco no encerramento da JVM (ex.: gravar logs pendentes)
+    public void addShutdownTask(Runnable task) {
+        shutdownTasks.add(task);
+    }
+
+    // Caches montados a partir do banco (galeria biométrica, estatísticas de acesso) que
+    // precisam ser descartados quando o banco é trocado ou limpo
+    public void addInvalidationListener(Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    private void notifyInvalidation() {
+        for (Runnable listener : invalidationListeners) {
+            listener.run();
+        }
+    }
+
+    private void shutdown() {
+        for (Runnable task : shutdownTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Erro no encerramento: " + e.getMessage());
+            }
+        }
+        closeConnection();
+    }
+
+    public boolean testConnection() {
+        try (Connection conn = getConnection()) {
+            return conn != null && !conn.isClosed();
+        } catch (SQLException e) {
+            System.err.println("Erro ao testar conexão: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public void clearAllTables() throws SQLException {
+        try (Connection conn = getConnection();
+                Statement stmt = conn.createStatement()) {
+            for (YearMonth month : auditLogPartitions.getPartitions(conn)) {
+                auditLogPartitions.dropPartition(conn, month);
+            }
+            stmt.execute("DELETE FROM audit_logs");
+            stmt.execute("DELETE FROM biometric_data");
+            stmt.execute("DELETE FROM users");
+            notifyInvalidation();
+            System.out.println("✓ Todas as tabelas foram limpas");
+        }
+    }
+
+    public String getDatabaseInfo() throws SQLException {
+        StringBuilder info = new StringBuilder();
+        info.append("=== INFORMAÇÕES DO BANCO ===\n");
+        info.append("Tipo: ").append(currentDbType).append("\n");
+        info.append("Status: ").append(testConnection() ? "CONECTADO" : "DESCONECTADO").append("\n");
+
+        if (testConnection()) {
+            try (Connection conn = getConnection();
+                    Statement stmt = conn.createStatement()) {
+                appendCount(info, stmt, "Usuários", "SELECT COUNT(*) FROM users");
+                appendCount(info, stmt, "Dados Biométricos", "SELECT COUNT(*) FROM biometric_data");
+                appendAuditCount(info, conn, stmt);
+            }
+
+            ConnectionPool currentPool = pool;
+            if (poolingEnabled && currentPool != null) {
+                info.append("Pool: ").append(currentPool.getActiveCount()).append(" em uso, ")
+                        .append(currentPool.getIdleCount()).append(" ociosas, máx ")
+                        .append(currentPool.getMaxSize()).append("\n");
+                info.append("Cache de Statements: ").append(currentPool.getStatementCacheHits())
+                        .append(" acertos, ").append(currentPool.getStatementCacheMisses()).append(" falhas\n");
+            }
+        }
+        info.append("===========================\n");
+        return info.toString();
+    }
+
+    private void appendAuditCount(StringBuilder info, Connection conn, Statement stmt) throws SQLException {
+        List<String> tables = auditLogPartitions.tablesFor(conn, null, null);
+        long total = 0;
+        for (String table : tables) {
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                if (rs.next()) {
+                    total += rs.getLong(1);
+                }
+            }
+        }
+        info.append("Logs de Auditoria: ").append(total)
+                .append(" (").append(tables.size() - 1).append(" partições mensais)\n");
+    }
+
+    private void appendCount(StringBuilder info, Statement stmt, String label, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next()) {
+                info.append(label).append(": ").append(rs.getInt(1)).append("\n");
+            }
+        }
+    }
+}
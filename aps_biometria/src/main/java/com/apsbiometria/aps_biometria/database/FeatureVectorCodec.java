@@ -0,0 +1,65 @@
+package com.apsbiometria.aps_biometria.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public final class FeatureVectorCodec {
+
+    public static final byte VERSION_FLOAT32 = 1;
+
+    private static final int HEADER_SIZE = 1;
+
+    private FeatureVectorCodec() {
+    }
+
+    public static byte[] encode(double[] vector) {
+        if (vector == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + vector.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION_FLOAT32);
+        for (double value : vector) {
+            buffer.putFloat((float) value);
+        }
+        return buffer.array();
+    }
+
+    public static double[] decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return new double[0];
+        }
+
+        if (encoded[0] != VERSION_FLOAT32) {
+            throw new IllegalArgumentException("Versão de vetor de características desconhecida: " + encoded[0]);
+        }
+
+        int payload = encoded.length - HEADER_SIZE;
+        if (payload % Float.BYTES != 0) {
+            throw new IllegalArgumentException("Vetor de características corrompido: " + encoded.length + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(encoded, HEADER_SIZE, payload).order(ByteOrder.LITTLE_ENDIAN);
+        double[] vector = new double[payload / Float.BYTES];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = buffer.getFloat();
+        }
+        return vector;
+    }
+
+    public static double[] decodeLegacy(String serialized) {
+        if (serialized == null || serialized.isEmpty()) {
+            return new double[0];
+        }
+
+        String[] parts = serialized.split(",");
+        double[] vector = new double[parts.length];
+
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Double.parseDouble(parts[i].trim());
+        }
+
+        return vector;
+    }
+}
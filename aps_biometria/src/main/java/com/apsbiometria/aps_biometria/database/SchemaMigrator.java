@@ -0,0 +1,252 @@
+package com.apsbiometria.aps_biometria.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+class SchemaMigrator {
+
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private final DatabaseConnection.DatabaseType dbType;
+    private final List<Migration> migrations;
+
+    @FunctionalInterface
+    interface MigrationStep {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    static class Migration {
+        final int version;
+        final String description;
+        final MigrationStep step;
+
+        Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    SchemaMigrator(DatabaseConnection.DatabaseType dbType) {
+        this.dbType = dbType;
+        this.migrations = new ArrayList<>();
+
+        // Versões aplicadas ficam em schema_version; nunca altere uma migração já publicada, crie a próxima
+        migrations.add(new Migration(1, "Esquema inicial", this::createInitialSchema));
+        migrations.add(new Migration(2, "Vetores de características em binário", this::addBinaryFeatureVectors));
+        migrations.add(new Migration(3, "Índice de paginação dos logs de auditoria", this::addAuditPaginationIndex));
+    }
+
+    int getLatestVersion() {
+        return migrations.get(migrations.size() - 1).version;
+    }
+
+    int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY," +
+                    "description VARCHAR(255) NOT NULL," +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+        }
+
+        int current = getCurrentVersion(conn);
+        int applied = 0;
+
+        for (Migration migration : migrations) {
+            if (migration.version <= current) {
+                continue;
+            }
+            apply(conn, migration);
+            applied++;
+        }
+
+        int version = Math.max(current, getLatestVersion());
+        if (applied == 0) {
+            System.out.println("✓ Esquema do banco atualizado (versão " + version + ")");
+        }
+        return version;
+    }
+
+    private int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Não é atômico: o H2 faz commit implícito de cada DDL, então uma falha no meio deixa os passos
+    // anteriores aplicados e nenhuma linha em schema_version. Por isso todo passo é idempotente e
+    // a migração é simplesmente reaplicada na próxima inicialização. A transação só agrupa os
+    // UPDATEs de dados.
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            migration.step.apply(conn);
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                ps.setInt(1, migration.version);
+                ps.setString(2, migration.description);
+                ps.executeUpdate();
+            }
+
+            conn.commit();
+            System.out.println("✓ Migração V" + migration.version + " aplicada: " + migration.description);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Falha na migração V" + migration.version + ": " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void createInitialSchema(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
+                    "id VARCHAR(36) PRIMARY KEY," +
+                    "name VARCHAR(255) NOT NULL," +
+                    "email VARCHAR(255) UNIQUE NOT NULL," +
+                    "cpf VARCHAR(14) UNIQUE NOT NULL," +
+                    "access_level INTEGER NOT NULL," +
+                    "department VARCHAR(255)," +
+                    "active BOOLEAN DEFAULT TRUE," +
+                    "registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "last_access_date TIMESTAMP," +
+                    "failed_attempts INTEGER DEFAULT 0," +
+                    "locked BOOLEAN DEFAULT FALSE" +
+                    ")");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS biometric_data (" +
+                    "id VARCHAR(36) PRIMARY KEY," +
+                    "user_id VARCHAR(36) NOT NULL," +
+                    "biometric_type VARCHAR(50) NOT NULL," +
+                    "feature_vector TEXT NOT NULL," +
+                    "template TEXT," +
+                    "quality_score DOUBLE NOT NULL," +
+                    "capture_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "last_update_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "active BOOLEAN DEFAULT TRUE," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE" +
+                    ")");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_biometric_user " +
+                    "ON biometric_data(user_id)");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_biometric_type " +
+                    "ON biometric_data(biometric_type)");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS audit_logs (" +
+                    "id VARCHAR(36) PRIMARY KEY," +
+                    "user_id VARCHAR(36)," +
+                    "user_name VARCHAR(255)," +
+                    "action_type VARCHAR(50) NOT NULL," +
+                    "access_level INTEGER," +
+                    "success BOOLEAN NOT NULL," +
+                    "ip_address VARCHAR(45)," +
+                    "description TEXT," +
+                    "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "biometric_score DOUBLE," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL" +
+                    ")");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_user " +
+                    "ON audit_logs(user_id)");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_timestamp " +
+                    "ON audit_logs(timestamp)");
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_action " +
+                    "ON audit_logs(action_type)");
+        }
+    }
+
+    private void addBinaryFeatureVectors(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (!columnExists(conn, "biometric_data", "feature_vector_bin")) {
+                stmt.execute("ALTER TABLE biometric_data ADD COLUMN feature_vector_bin " + binaryType());
+            }
+
+            if (isNotNull(conn, "biometric_data", "feature_vector")) {
+                stmt.execute("ALTER TABLE biometric_data ALTER COLUMN feature_vector DROP NOT NULL");
+            }
+        }
+
+        migrateLegacyFeatureVectors(conn);
+    }
+
+    private void migrateLegacyFeatureVectors(Connection conn) throws SQLException {
+        String select = "SELECT id, feature_vector FROM biometric_data " +
+                "WHERE feature_vector_bin IS NULL AND feature_vector IS NOT NULL";
+        String update = "UPDATE biometric_data SET feature_vector_bin = ?, feature_vector = NULL WHERE id = ?";
+
+        int migrated = 0;
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(select);
+                PreparedStatement ps = conn.prepareStatement(update)) {
+
+            while (rs.next()) {
+                double[] vector = FeatureVectorCodec.decodeLegacy(rs.getString("feature_vector"));
+                ps.setBytes(1, FeatureVectorCodec.encode(vector));
+                ps.setString(2, rs.getString("id"));
+                ps.addBatch();
+                if (++migrated % MIGRATION_BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+
+            if (migrated > 0) {
+                ps.executeBatch();
+                System.out.println("✓ Vetores de características convertidos para binário: " + migrated);
+            }
+        }
+    }
+
+    // Cobre ORDER BY timestamp DESC, id DESC e o critério de página; substitui o índice só por timestamp
+    private void addAuditPaginationIndex(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_audit_timestamp_id " +
+                    "ON audit_logs(timestamp, id)");
+
+            stmt.execute("DROP INDEX IF EXISTS idx_audit_timestamp");
+        }
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        return columnNullability(conn, table, column) != null;
+    }
+
+    private static boolean isNotNull(Connection conn, String table, String column) throws SQLException {
+        Integer nullable = columnNullability(conn, table, column);
+        return nullable != null && nullable == DatabaseMetaData.columnNoNulls;
+    }
+
+    // H2 guarda identificadores em maiúsculas e PostgreSQL em minúsculas; null se a coluna não existe
+    private static Integer columnNullability(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String[][] candidates = {
+                { table.toUpperCase(), column.toUpperCase() },
+                { table.toLowerCase(), column.toLowerCase() }
+        };
+        for (String[] names : candidates) {
+            try (ResultSet rs = metaData.getColumns(null, null, names[0], names[1])) {
+                if (rs.next()) {
+                    return rs.getInt("NULLABLE");
+                }
+            }
+        }
+        return null;
+    }
+
+    private String binaryType() {
+        return dbType == DatabaseConnection.DatabaseType.POSTGRESQL ? "BYTEA" : "VARBINARY";
+    }
+}
@@ -0,0 +1,211 @@
+package com.apsbiometria.aps_biometria.repository;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.AuditLog;
+import com.apsbiometria.aps_biometria.model.AuditLog.ActionType;
+
+// Contadores de auditoria mantidos em memória: carregados uma vez do banco e atualizados a cada
+// log gravado, para que as estatísticas não precisem varrer audit_logs. Só enxerga o que este
+// processo grava depois da carga; retenção e limpeza invalidam e forçam nova carga.
+public class AccessStatistics {
+
+    private static final ActionType[] ACTION_TYPES = ActionType.values();
+
+    private static AccessStatistics instance;
+    private final LongAdder[] actionCounts; // índice: ordinal * 2 + (sucesso ? 1 : 0)
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> dailyCounts;
+    private final DoubleAdder scoreSum;
+    private final LongAdder scoreCount;
+    private final ReadWriteLock lock;
+    private volatile boolean loaded;
+
+    @FunctionalInterface
+    interface Loader {
+        void load(AccessStatistics target) throws SQLException;
+    }
+
+    private AccessStatistics() {
+        this.actionCounts = new LongAdder[ACTION_TYPES.length * 2];
+        for (int i = 0; i < actionCounts.length; i++) {
+            actionCounts[i] = new LongAdder();
+        }
+        this.dailyCounts = new ConcurrentSkipListMap<>();
+        this.scoreSum = new DoubleAdder();
+        this.scoreCount = new LongAdder();
+        this.lock = new ReentrantReadWriteLock();
+        this.loaded = false;
+
+        DatabaseConnection.getInstance().addInvalidationListener(this::invalidate);
+    }
+
+    public static AccessStatistics getInstance() {
+        if (instance == null) {
+            synchronized (AccessStatistics.class) {
+                if (instance == null) {
+                    instance = new AccessStatistics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Quem grava segura este lock (compartilhado) do INSERT até o record; assim a recarga nunca
+    // lê do banco um log cujo record ainda vai acontecer, e nenhum evento é contado duas vezes.
+    Lock recordLock() {
+        return lock.readLock();
+    }
+
+    void record(AuditLog log) {
+        if (!loaded) {
+            return;
+        }
+        double score = log.getBiometricScore();
+        add(log.getActionType(), log.isSuccess(), toLocalDate(log), 1,
+                score > 0 ? score : 0, score > 0 ? 1 : 0);
+    }
+
+    void reload(Loader loader) throws SQLException {
+        lock.writeLock().lock();
+        try {
+            clear();
+            loader.load(this);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void add(ActionType actionType, boolean success, LocalDate day, long count, double scores, long scored) {
+        actionCounts[actionType.ordinal() * 2 + (success ? 1 : 0)].add(count);
+        dailyCounts.computeIfAbsent(day, key -> new LongAdder()).add(count);
+        if (scored > 0) {
+            scoreSum.add(scores);
+            scoreCount.add(scored);
+        }
+    }
+
+    public long getTotal() {
+        return getSuccessCount() + getFailureCount();
+    }
+
+    public long getSuccessCount() {
+        long total = 0;
+        for (int i = 1; i < actionCounts.length; i += 2) {
+            total += actionCounts[i].sum();
+        }
+        return total;
+    }
+
+    public long getFailureCount() {
+        long total = 0;
+        for (int i = 0; i < actionCounts.length; i += 2) {
+            total += actionCounts[i].sum();
+        }
+        return total;
+    }
+
+    public long getCount(ActionType actionType) {
+        return getCount(actionType, true) + getCount(actionType, false);
+    }
+
+    public long getCount(ActionType actionType, boolean success) {
+        return actionCounts[actionType.ordinal() * 2 + (success ? 1 : 0)].sum();
+    }
+
+    public SortedMap<LocalDate, Long> getDailyCounts() {
+        SortedMap<LocalDate, Long> counts = new TreeMap<>();
+        for (Map.Entry<LocalDate, LongAdder> entry : dailyCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableSortedMap(counts);
+    }
+
+    public double getAverageBiometricScore() {
+        long count = scoreCount.sum();
+        return count > 0 ? scoreSum.sum() / count : 0.0;
+    }
+
+    // Mesmo formato do relatório que antes era montado com agregações no banco
+    public String format() {
+        lock.readLock().lock();
+        try {
+            StringBuilder stats = new StringBuilder();
+            stats.append("=== ESTATÍSTICAS DE ACESSO ===\n");
+            stats.append("Total de Logs: ").append(getTotal()).append("\n");
+
+            long successes = getSuccessCount();
+            long failures = getFailureCount();
+            if (successes > 0) {
+                stats.append("Sucessos: ").append(successes).append("\n");
+            }
+            if (failures > 0) {
+                stats.append("Falhas: ").append(failures).append("\n");
+            }
+
+            stats.append("\nPor Tipo de Ação:\n");
+            List<ActionType> types = new ArrayList<>();
+            for (ActionType type : ACTION_TYPES) {
+                if (getCount(type) > 0) {
+                    types.add(type);
+                }
+            }
+            types.sort((a, b) -> Long.compare(getCount(b), getCount(a)));
+            for (ActionType type : types) {
+                stats.append("  ").append(type.name())
+                        .append(": ").append(getCount(type)).append("\n");
+            }
+
+            stats.append("\nScore Biométrico Médio: ")
+                    .append(String.format("%.2f%%", getAverageBiometricScore())).append("\n");
+
+            stats.append("==============================\n");
+            return stats.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        for (LongAdder counter : actionCounts) {
+            counter.reset();
+        }
+        dailyCounts.clear();
+        scoreSum.reset();
+        scoreCount.reset();
+    }
+
+    private static LocalDate toLocalDate(AuditLog log) {
+        return Instant.ofEpochMilli(log.getTimestamp().getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
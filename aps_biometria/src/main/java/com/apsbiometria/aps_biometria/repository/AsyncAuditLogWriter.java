@@ -0,0 +1,241 @@
+package com.apsbiometria.aps_biometria.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.AuditLog;
+
+// Grava logs de auditoria em segundo plano: quem chama só enfileira e o writer
+// agrupa os registros em lotes (por tamanho ou por tempo) numa única transação.
+public class AsyncAuditLogWriter {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int BATCH_SIZE = 128;
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+    private static final long OFFER_TIMEOUT_MILLIS = 50;
+
+    private static AsyncAuditLogWriter instance;
+    private final AuditLogRepository repository;
+    private final BlockingQueue<AuditLog> queue;
+    private final ReentrantLock writeLock;
+    // submit enfileira sob o lock de leitura e shutdown desliga sob o de escrita: nenhum log
+    // entra na fila depois que o encerramento começou, então o flush final pega todos
+    private final ReadWriteLock stateLock;
+    private final Condition batchWritten;
+    private final AtomicInteger pending; // enfileirados ou em lote ainda não gravado
+    private final AtomicLong written;
+    private final AtomicLong synchronousWrites;
+    private final Thread worker;
+    private volatile boolean running;
+
+    private AsyncAuditLogWriter() {
+        this.repository = new AuditLogRepository();
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.writeLock = new ReentrantLock();
+        this.stateLock = new ReentrantReadWriteLock();
+        this.batchWritten = writeLock.newCondition();
+        this.pending = new AtomicInteger();
+        this.written = new AtomicLong();
+        this.synchronousWrites = new AtomicLong();
+        this.running = true;
+
+        this.worker = new Thread(this::drainLoop, "biometria-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+
+        // Roda antes de o banco ser fechado no encerramento da JVM
+        DatabaseConnection.getInstance().addShutdownTask(this::shutdown);
+    }
+
+    public static AsyncAuditLogWriter getInstance() {
+        if (instance == null) {
+            synchronized (AsyncAuditLogWriter.class) {
+                if (instance == null) {
+                    instance = new AsyncAuditLogWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Fila cheia: espera um pouco pelo writer e, se ainda assim não couber, grava na thread
+    // de quem chamou. Isso segura produtores rápidos sem descartar nenhum log.
+    public void submit(AuditLog log) throws SQLException {
+        if (log.getId() == null) {
+            log.setId(UUID.randomUUID().toString());
+        }
+
+        if (enqueue(log)) {
+            return;
+        }
+
+        synchronousWrites.incrementAndGet();
+        repository.create(log);
+        written.incrementAndGet();
+    }
+
+    // Depois do shutdown retorna false e o log é gravado na thread de quem chamou
+    private boolean enqueue(AuditLog log) {
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            pending.incrementAndGet();
+            try {
+                if (queue.offer(log, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.decrementAndGet();
+            return false;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    // Bloqueia até que tudo que foi enfileirado antes da chamada esteja no banco
+    public void flush() {
+        writeLock.lock();
+        try {
+            List<AuditLog> batch = new ArrayList<>(BATCH_SIZE);
+            while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+
+            // O writer pode ter retirado um lote da fila e ainda estar esperando o lock para gravá-lo
+            while (pending.get() > 0 && worker.isAlive()) {
+                batchWritten.await(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        try {
+            // Sem interrupt: um lote em gravação termina normalmente; o writer sai no próximo poll
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        System.out.println("✓ Logs de auditoria pendentes gravados (" + written.get() + " no total)");
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getSynchronousWriteCount() {
+        return synchronousWrites.get();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (running) {
+            AuditLog first;
+            try {
+                first = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            writeLock.lock();
+            try {
+                batch.add(first);
+                fillBatch(batch);
+                writeBatch(batch);
+            } finally {
+                batch.clear();
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // Completa o lote até BATCH_SIZE ou até vencer o intervalo de flush, o que vier primeiro
+    private void fillBatch(List<AuditLog> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+        try {
+            while (batch.size() < BATCH_SIZE) {
+                queue.drainTo(batch, BATCH_SIZE - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= BATCH_SIZE || remaining <= 0) {
+                    return;
+                }
+                AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            written.addAndGet(repository.createBatch(batch));
+        } catch (SQLException e) {
+            // Uma nova tentativa pega outra conexão do pool (a que falhou não volta para ele)
+            try {
+                written.addAndGet(repository.createBatch(batch));
+            } catch (SQLException retry) {
+                // Nada é descartado sem passar pela gravação individual; ids já gravados contam
+                // como gravados e só o que falhar de novo fica no stderr
+                System.err.println("Erro ao gravar lote de auditoria (" + batch.size() + " registros), " +
+                        "gravando individualmente: " + retry.getMessage());
+                written.addAndGet(repository.createEach(batch));
+            }
+        } finally {
+            pending.addAndGet(-batch.size());
+            batchWritten.signalAll();
+        }
+    }
+}
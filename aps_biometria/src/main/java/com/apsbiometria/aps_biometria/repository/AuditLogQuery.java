@@ -0,0 +1,99 @@
+package com.apsbiometria.aps_biometria.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.apsbiometria.aps_biometria.model.AuditLog.ActionType;
+
+// Filtro de consulta sobre audit_logs. A condição usa parâmetros posicionais (?) e é
+// combinada pelo repositório com o critério de paginação por (timestamp, id).
+public class AuditLogQuery {
+
+    private final String condition;
+    private final List<Object> parameters;
+    private final Date from;
+    private final Date to;
+
+    private AuditLogQuery(String condition, List<Object> parameters) {
+        this(condition, parameters, null, null);
+    }
+
+    // from/to delimitam os timestamps possíveis e servem para descartar partições na leitura
+    private AuditLogQuery(String condition, List<Object> parameters, Date from, Date to) {
+        this.condition = condition;
+        this.parameters = Collections.unmodifiableList(parameters);
+        this.from = from;
+        this.to = to;
+    }
+
+    public static AuditLogQuery all() {
+        return new AuditLogQuery(null, new ArrayList<>());
+    }
+
+    public static AuditLogQuery byUserId(String userId) {
+        return single("user_id = ?", userId);
+    }
+
+    public static AuditLogQuery byActionType(ActionType actionType) {
+        return single("action_type = ?", actionType.name());
+    }
+
+    public static AuditLogQuery byDateRange(Date startDate, Date endDate) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(new Timestamp(startDate.getTime()));
+        parameters.add(new Timestamp(endDate.getTime()));
+        return new AuditLogQuery("timestamp BETWEEN ? AND ?", parameters, startDate, endDate);
+    }
+
+    public static AuditLogQuery failedAttempts() {
+        return new AuditLogQuery("success = FALSE", new ArrayList<>());
+    }
+
+    public static AuditLogQuery failedAttemptsByUser(String userId) {
+        return single("user_id = ? AND success = FALSE", userId);
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    // Retorna o próximo índice livre, para o chamador continuar a ligar parâmetros
+    int bind(PreparedStatement stmt, int index) throws SQLException {
+        for (Object parameter : parameters) {
+            if (parameter instanceof Timestamp) {
+                stmt.setTimestamp(index++, (Timestamp) parameter);
+            } else {
+                stmt.setString(index++, (String) parameter);
+            }
+        }
+        return index;
+    }
+
+    private static AuditLogQuery single(String condition, Object parameter) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(parameter);
+        return new AuditLogQuery(condition, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return condition == null ? "todos" : condition + " " + parameters;
+    }
+}
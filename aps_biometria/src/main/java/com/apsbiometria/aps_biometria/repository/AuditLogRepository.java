@@ -1,304 +1,579 @@
-package com.apsbiometria.aps_biometria.repository;
-
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.UUID;
-
-import com.apsbiometria.aps_biometria.database.DatabaseConnection;
-import com.apsbiometria.aps_biometria.model.AccessLevel;
-import com.apsbiometria.aps_biometria.model.AuditLog;
-import com.apsbiometria.aps_biometria.model.AuditLog.ActionType;
-
-public class AuditLogRepository {
-
-    private final DatabaseConnection dbConnection;
-
-    public AuditLogRepository() {
-        this.dbConnection = DatabaseConnection.getInstance();
-    }
-
-    public AuditLog create(AuditLog log) throws SQLException {
-        if (log.getId() == null) {
-            log.setId(UUID.randomUUID().toString());
-        }
-
-        String sql = "INSERT INTO audit_logs (id, user_id, user_name, action_type, access_level, " +
-                "success, ip_address, description, timestamp, biometric_score) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, log.getId());
-            stmt.setString(2, log.getUserId());
-            stmt.setString(3, log.getUserName());
-            stmt.setString(4, log.getActionType().name());
-
-            if (log.getAccessLevel() != null) {
-                stmt.setInt(5, log.getAccessLevel().getLevel());
-            } else {
-                stmt.setNull(5, Types.INTEGER);
-            }
-
-            stmt.setBoolean(6, log.isSuccess());
-            stmt.setString(7, log.getIpAddress());
-            stmt.setString(8, log.getDescription());
-            stmt.setTimestamp(9, new Timestamp(log.getTimestamp().getTime()));
-            stmt.setDouble(10, log.getBiometricScore());
-
-            stmt.executeUpdate();
-            System.out.println("✓ Log de auditoria criado: " + log.getActionType());
-
-            return log;
-        }
-    }
-
-    public AuditLog findById(String id) throws SQLException {
-        String sql = "SELECT * FROM audit_logs WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return mapResultSetToAuditLog(rs);
-            }
-
-            return null;
-        }
-    }
-
-    public List<AuditLog> findByUserId(String userId) throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs WHERE user_id = ? ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findByActionType(ActionType actionType) throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs WHERE action_type = ? ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, actionType.name());
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findByDateRange(Date startDate, Date endDate) throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs " +
-                "WHERE timestamp BETWEEN ? AND ? " +
-                "ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setTimestamp(1, new Timestamp(startDate.getTime()));
-            stmt.setTimestamp(2, new Timestamp(endDate.getTime()));
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findFailedAttempts() throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs WHERE success = FALSE ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findFailedAttemptsByUser(String userId) throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs " +
-                "WHERE user_id = ? AND success = FALSE " +
-                "ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findRecent(int limit) throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs ORDER BY timestamp DESC LIMIT ?";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, limit);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public List<AuditLog> findAll() throws SQLException {
-        List<AuditLog> logs = new ArrayList<>();
-        String sql = "SELECT * FROM audit_logs ORDER BY timestamp DESC";
-
-        try (Connection conn = dbConnection.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                logs.add(mapResultSetToAuditLog(rs));
-            }
-        }
-
-        return logs;
-    }
-
-    public int countRecentFailedAttempts(String userId, int minutes) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM audit_logs " +
-                "WHERE user_id = ? " +
-                "AND success = FALSE " +
-                "AND timestamp > DATEADD('MINUTE', ?, CURRENT_TIMESTAMP)";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, userId);
-            stmt.setInt(2, -minutes);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-
-            return 0;
-        }
-    }
-
-    public String getAccessStatistics() throws SQLException {
-        StringBuilder stats = new StringBuilder();
-        stats.append("=== ESTATÍSTICAS DE ACESSO ===\n");
-
-        try (Connection conn = dbConnection.getConnection();
-                Statement stmt = conn.createStatement()) {
-
-            // Total de logs
-            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM audit_logs");
-            if (rs.next()) {
-                stats.append("Total de Logs: ").append(rs.getInt(1)).append("\n");
-            }
-
-            // Sucessos vs Falhas
-            rs = stmt.executeQuery("SELECT success, COUNT(*) FROM audit_logs GROUP BY success");
-            while (rs.next()) {
-                String status = rs.getBoolean(1) ? "Sucessos" : "Falhas";
-                stats.append(status).append(": ").append(rs.getInt(2)).append("\n");
-            }
-
-            // Por tipo de ação
-            stats.append("\nPor Tipo de Ação:\n");
-            rs = stmt.executeQuery(
-                    "SELECT action_type, COUNT(*) as total " +
-                            "FROM audit_logs " +
-                            "GROUP BY action_type " +
-                            "ORDER BY total DESC");
-            while (rs.next()) {
-                stats.append("  ").append(rs.getString(1))
-                        .append(": ").append(rs.getInt(2)).append("\n");
-            }
-
-            // Score biométrico médio
-            rs = stmt.executeQuery(
-                    "SELECT AVG(biometric_score) " +
-                            "FROM audit_logs " +
-                            "WHERE biometric_score > 0");
-            if (rs.next()) {
-                stats.append("\nScore Biométrico Médio: ")
-                        .append(String.format("%.2f%%", rs.getDouble(1))).append("\n");
-            }
-        }
-
-        stats.append("==============================\n");
-        return stats.toString();
-    }
-
-    public int deleteOlderThan(int days) throws SQLException {
-        String sql = "DELETE FROM audit_logs WHERE timestamp < DATEADD('DAY', ?, CURRENT_TIMESTAMP)";
-
-        try (Connection conn = dbConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, -days);
-            int deleted = stmt.executeUpdate();
-
-            System.out.println("✓ Logs removidos: " + deleted);
-            return deleted;
-        }
-    }
-
-    private AuditLog mapResultSetToAuditLog(ResultSet rs) throws SQLException {
-        AuditLog log = new AuditLog();
-        log.setId(rs.getString("id"));
-        log.setUserId(rs.getString("user_id"));
-        log.setUserName(rs.getString("user_name"));
-        log.setActionType(ActionType.valueOf(rs.getString("action_type")));
-
-        int accessLevelInt = rs.getInt("access_level");
-        if (!rs.wasNull()) {
-            log.setAccessLevel(AccessLevel.fromLevel(accessLevelInt));
-        }
-
-        log.setSuccess(rs.getBoolean("success"));
-        log.setIpAddress(rs.getString("ip_address"));
-        log.setDescription(rs.getString("description"));
-        log.setTimestamp(rs.getTimestamp("timestamp"));
-        log.setBiometricScore(rs.getDouble("biometric_score"));
-
-        return log;
-    }
-}
\ No newline at end of file
+package com.apsbiometria.aps_biometria.repository;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.apsbiometria.aps_biometria.database.AuditLogPartitions;
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.AccessLevel;
+import com.apsbiometria.aps_biometria.model.AuditLog;
+import com.apsbiometria.aps_biometria.model.AuditLog.ActionType;
+
+public class AuditLogRepository {
+
+    private static final String DUPLICATE_KEY_STATE = "23505";
+
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final String ORDER_BY = " ORDER BY timestamp DESC, id DESC";
+
+    private final DatabaseConnection dbConnection;
+    private final AuditLogPartitions partitions;
+    private final AccessStatistics statistics;
+
+    public AuditLogRepository() {
+        this.dbConnection = DatabaseConnection.getInstance();
+        this.partitions = dbConnection.getAuditLogPartitions();
+        this.statistics = AccessStatistics.getInstance();
+    }
+
+    public AuditLog create(AuditLog log) throws SQLException {
+        if (log.getId() == null) {
+            log.setId(UUID.randomUUID().toString());
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            String table = partitions.ensurePartition(conn, log.getTimestamp());
+
+            Lock guard = statistics.recordLock();
+            guard.lock();
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql(table))) {
+                bindAuditLog(stmt, log);
+
+                stmt.executeUpdate();
+                statistics.record(log);
+                System.out.println("✓ Log de auditoria criado: " + log.getActionType());
+
+                return log;
+            } finally {
+                guard.unlock();
+            }
+        }
+    }
+
+    // Grava vários logs numa única transação com executeBatch. Se o lote falhar (ex.: usuário
+    // inexistente violando a FK), desfaz e grava um a um para não perder os registros válidos.
+    public int createBatch(List<AuditLog> logs) throws SQLException {
+        if (logs.isEmpty()) {
+            return 0;
+        }
+
+        for (AuditLog log : logs) {
+            if (log.getId() == null) {
+                log.setId(UUID.randomUUID().toString());
+            }
+        }
+
+        // O autocommit não é restaurado aqui: o pool faz isso na devolução e, sem pool,
+        // a conexão é fechada. Assim nenhuma falha depois do commit parece lote perdido.
+        try (Connection conn = dbConnection.getConnection()) {
+            // Um lote perto da virada do mês pode cair em duas partições
+            Map<String, List<AuditLog>> byTable = new LinkedHashMap<>();
+            for (AuditLog log : logs) {
+                byTable.computeIfAbsent(partitions.ensurePartition(conn, log.getTimestamp()),
+                        table -> new ArrayList<>()).add(log);
+            }
+
+            conn.setAutoCommit(false);
+            Lock guard = statistics.recordLock();
+            guard.lock();
+            try {
+                for (Map.Entry<String, List<AuditLog>> entry : byTable.entrySet()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(insertSql(entry.getKey()))) {
+                        for (AuditLog log : entry.getValue()) {
+                            bindAuditLog(stmt, log);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                for (AuditLog log : logs) {
+                    statistics.record(log);
+                }
+                return logs.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("Lote de auditoria rejeitado, gravando individualmente: " + e.getMessage());
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        return createEach(logs);
+    }
+
+    // Grava um a um, cada log na sua própria transação; retorna quantos estão no banco ao final
+    int createEach(List<AuditLog> logs) {
+        int written = 0;
+        for (AuditLog log : logs) {
+            try {
+                create(log);
+                written++;
+            } catch (SQLException e) {
+                // Chave duplicada: o log (id UUID) já foi gravado por uma tentativa anterior
+                if (DUPLICATE_KEY_STATE.equals(e.getSQLState())) {
+                    written++;
+                } else {
+                    System.err.println("Erro ao gravar log de auditoria " + log.getActionType() + ": " +
+                            e.getMessage());
+                }
+            }
+        }
+        return written;
+    }
+
+    public AuditLog findById(String id) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            // Partições mais recentes primeiro: é onde a maioria das consultas por id acerta
+            for (String table : partitions.tablesFor(conn, null, null)) {
+                String sql = "SELECT " + AuditLogPartitions.COLUMNS + " FROM " + table + " WHERE id = ?";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            return mapResultSetToAuditLog(rs);
+                        }
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+    public List<AuditLog> findByUserId(String userId) throws SQLException {
+        return findAll(AuditLogQuery.byUserId(userId));
+    }
+
+    public List<AuditLog> findByActionType(ActionType actionType) throws SQLException {
+        return findAll(AuditLogQuery.byActionType(actionType));
+    }
+
+    public List<AuditLog> findByDateRange(Date startDate, Date endDate) throws SQLException {
+        return findAll(AuditLogQuery.byDateRange(startDate, endDate));
+    }
+
+    public List<AuditLog> findFailedAttempts() throws SQLException {
+        return findAll(AuditLogQuery.failedAttempts());
+    }
+
+    public List<AuditLog> findFailedAttemptsByUser(String userId) throws SQLException {
+        return findAll(AuditLogQuery.failedAttemptsByUser(userId));
+    }
+
+    // Primeira página da busca por chave: cobre as partições mensais e a tabela legada
+    public List<AuditLog> findRecent(int limit) throws SQLException {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return findPage(AuditLogQuery.all(), null, limit).getLogs();
+    }
+
+    public List<AuditLog> findAll() throws SQLException {
+        return findAll(AuditLogQuery.all());
+    }
+
+    // Carrega todo o resultado em memória; para tabelas grandes use findPage ou forEach
+    public List<AuditLog> findAll(AuditLogQuery query) throws SQLException {
+        List<AuditLog> logs = new ArrayList<>();
+        forEach(query, logs::add);
+        return logs;
+    }
+
+    // Paginação por chave: a página seguinte começa logo depois do último (timestamp, id)
+    // visto, então o custo não cresce com a profundidade como em OFFSET.
+    public Page findPage(AuditLogQuery query, PageCursor after, int pageSize) throws SQLException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de página inválido: " + pageSize);
+        }
+
+        List<AuditLog> logs = new ArrayList<>(Math.min(pageSize, STREAM_FETCH_SIZE));
+
+        try (Connection conn = dbConnection.getConnection()) {
+            List<String> tables = tablesFor(conn, query, after);
+
+            try (PreparedStatement stmt = conn.prepareStatement(buildSelect(tables, query, after, pageSize + 1))) {
+                // Uma linha a mais só para saber se existe próxima página
+                bindSelect(stmt, tables.size(), query, after, pageSize + 1);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        logs.add(mapResultSetToAuditLog(rs));
+                    }
+                }
+            }
+        }
+
+        if (logs.size() > pageSize) {
+            logs.remove(pageSize);
+            return new Page(logs, PageCursor.after(logs.get(pageSize - 1)));
+        }
+        return new Page(logs, null);
+    }
+
+    // Percorre o resultado com um cursor no servidor, lendo STREAM_FETCH_SIZE linhas por vez.
+    // A conexão fica presa durante toda a leitura; o visitante não deve bloquear por muito tempo.
+    public long forEach(AuditLogQuery query, AuditLogVisitor visitor) throws SQLException {
+        long visited = 0;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            List<String> tables = tablesFor(conn, query, null);
+
+            // O PostgreSQL só respeita o fetch size dentro de uma transação
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(buildSelect(tables, query, null, 0))) {
+                stmt.setFetchSize(STREAM_FETCH_SIZE);
+                bindSelect(stmt, tables.size(), query, null, 0);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.visit(mapResultSetToAuditLog(rs));
+                        visited++;
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+
+        return visited;
+    }
+
+    // Stream preguiçoso montado sobre findPage: nenhuma conexão fica aberta entre páginas,
+    // então o stream pode ser abandonado no meio sem precisar de close.
+    public Stream<AuditLog> stream(AuditLogQuery query, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de página inválido: " + pageSize);
+        }
+
+        Iterator<AuditLog> iterator = new Iterator<AuditLog>() {
+            private Iterator<AuditLog> current = Collections.emptyIterator();
+            private PageCursor cursor;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !exhausted) {
+                    Page page;
+                    try {
+                        page = findPage(query, cursor, pageSize);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Erro ao ler logs de auditoria: " + e.getMessage(), e);
+                    }
+                    current = page.getLogs().iterator();
+                    cursor = page.getNextCursor();
+                    exhausted = cursor == null;
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public AuditLog next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    public long count(AuditLogQuery query) throws SQLException {
+        long total = 0;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (String table : tablesFor(conn, query, null)) {
+                StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ").append(table);
+                if (query.getCondition() != null) {
+                    sql.append(" WHERE ").append(query.getCondition());
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    query.bind(stmt, 1);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            total += rs.getLong(1);
+                        }
+                    }
+                }
+            }
+        }
+
+        return total;
+    }
+
+    // Servido pelos contadores em memória; só a primeira chamada (ou a seguinte a uma
+    // invalidação) agrega o banco, numa única varredura agrupada.
+    public String getAccessStatistics() throws SQLException {
+        if (!statistics.isLoaded()) {
+            loadStatistics();
+        }
+        return statistics.format();
+    }
+
+    public AccessStatistics getStatistics() throws SQLException {
+        if (!statistics.isLoaded()) {
+            loadStatistics();
+        }
+        return statistics;
+    }
+
+    private void loadStatistics() throws SQLException {
+        // A conexão vem antes do lock exclusivo: gravadores esperando o lock já têm a deles
+        try (Connection conn = dbConnection.getConnection()) {
+            statistics.reload(target -> {
+                // Agrega cada partição separadamente; os contadores somam os grupos repetidos
+                for (String table : partitions.tablesFor(conn, null, null)) {
+                    String sql = "SELECT action_type, success, CAST(timestamp AS DATE), COUNT(*), " +
+                            "SUM(CASE WHEN biometric_score > 0 THEN biometric_score ELSE 0 END), " +
+                            "SUM(CASE WHEN biometric_score > 0 THEN 1 ELSE 0 END) " +
+                            "FROM " + table + " " +
+                            "GROUP BY action_type, success, CAST(timestamp AS DATE)";
+
+                    try (Statement stmt = conn.createStatement();
+                            ResultSet rs = stmt.executeQuery(sql)) {
+                        while (rs.next()) {
+                            target.add(ActionType.valueOf(rs.getString(1)), rs.getBoolean(2),
+                                    rs.getDate(3).toLocalDate(), rs.getLong(4), rs.getDouble(5), rs.getLong(6));
+                        }
+                    }
+                }
+            });
+        }
+        System.out.println("✓ Estatísticas de acesso carregadas: " + statistics.getTotal() + " logs");
+    }
+
+    // Partições inteiramente anteriores ao corte são descartadas com DROP TABLE; só a partição do
+    // mês do corte e a tabela legada passam por DELETE linha a linha.
+    public int deleteOlderThan(int days) throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        YearMonth cutoffMonth = YearMonth.from(cutoff);
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+
+        int deleted = 0;
+        int dropped = 0;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (YearMonth month : partitions.getPartitions(conn)) {
+                String table = AuditLogPartitions.tableName(month);
+
+                if (month.isBefore(cutoffMonth)) {
+                    try (Statement stmt = conn.createStatement();
+                            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                        if (rs.next()) {
+                            deleted += rs.getInt(1);
+                        }
+                    }
+                    partitions.dropPartition(conn, month);
+                    dropped++;
+                } else if (month.equals(cutoffMonth)) {
+                    deleted += deleteBefore(conn, table, cutoffTimestamp);
+                }
+            }
+
+            deleted += deleteBefore(conn, AuditLogPartitions.LEGACY_TABLE, cutoffTimestamp);
+        }
+
+        if (deleted > 0) {
+            statistics.invalidate();
+        }
+
+        System.out.println("✓ Logs removidos: " + deleted +
+                (dropped > 0 ? " (" + dropped + " partições descartadas)" : ""));
+        return deleted;
+    }
+
+    private int deleteBefore(Connection conn, String table, Timestamp cutoff) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE timestamp < ?")) {
+            stmt.setTimestamp(1, cutoff);
+            return stmt.executeUpdate();
+        }
+    }
+
+    // O cursor também limita o timestamp máximo, então páginas mais antigas pulam as partições recentes
+    private List<String> tablesFor(Connection conn, AuditLogQuery query, PageCursor after) throws SQLException {
+        Date to = query.getTo();
+        if (after != null && (to == null || after.getTimestamp().before(to))) {
+            to = after.getTimestamp();
+        }
+        return partitions.tablesFor(conn, query.getFrom(), to);
+    }
+
+    // Cada tabela recebe o filtro (e o LIMIT, na paginação) dentro do seu próprio SELECT,
+    // para o banco usar o índice de cada partição; o UNION ALL só ordena o que sobrou.
+    // limit 0 = sem limite.
+    private String buildSelect(List<String> tables, AuditLogQuery query, PageCursor after, int limit) {
+        boolean limited = limit > 0;
+        StringBuilder branch = new StringBuilder();
+        String separator = " WHERE ";
+
+        if (query.getCondition() != null) {
+            branch.append(separator).append('(').append(query.getCondition()).append(')');
+            separator = " AND ";
+        }
+        if (after != null) {
+            // O primeiro termo deixa o banco usar o índice (timestamp, id) como faixa
+            branch.append(separator).append("timestamp <= ? AND (timestamp < ? OR id < ?)");
+        }
+        if (tables.size() == 1) {
+            return "SELECT " + AuditLogPartitions.COLUMNS + " FROM " + tables.get(0) + branch + ORDER_BY +
+                    (limited ? " LIMIT ?" : "");
+        }
+        if (limited) {
+            // Literal, não parâmetro: o H2 congela o LIMIT ? de um ramo do UNION na primeira
+            // execução, e o cache de statements do pool reaproveitaria o valor antigo
+            branch.append(ORDER_BY).append(" LIMIT ").append(limit);
+        }
+
+        StringBuilder sql = new StringBuilder();
+        for (String table : tables) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("(SELECT ").append(AuditLogPartitions.COLUMNS).append(" FROM ").append(table)
+                    .append(branch).append(')');
+        }
+        sql.append(ORDER_BY);
+        if (limited) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    private void bindSelect(PreparedStatement stmt, int tableCount, AuditLogQuery query, PageCursor after,
+            int limit) throws SQLException {
+        int index = 1;
+        for (int i = 0; i < tableCount; i++) {
+            index = query.bind(stmt, index);
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getTimestamp());
+                stmt.setTimestamp(index++, after.getTimestamp());
+                stmt.setString(index++, after.getId());
+            }
+        }
+        if (limit > 0) {
+            stmt.setInt(index, limit);
+        }
+    }
+
+    private String insertSql(String table) {
+        return "INSERT INTO " + table + " (" + AuditLogPartitions.COLUMNS + ") " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private void bindAuditLog(PreparedStatement stmt, AuditLog log) throws SQLException {
+        stmt.setString(1, log.getId());
+        stmt.setString(2, log.getUserId());
+        stmt.setString(3, log.getUserName());
+        stmt.setString(4, log.getActionType().name());
+
+        if (log.getAccessLevel() != null) {
+            stmt.setInt(5, log.getAccessLevel().getLevel());
+        } else {
+            stmt.setNull(5, Types.INTEGER);
+        }
+
+        stmt.setBoolean(6, log.isSuccess());
+        stmt.setString(7, log.getIpAddress());
+        stmt.setString(8, log.getDescription());
+        stmt.setTimestamp(9, new Timestamp(log.getTimestamp().getTime()));
+        stmt.setDouble(10, log.getBiometricScore());
+    }
+
+    private AuditLog mapResultSetToAuditLog(ResultSet rs) throws SQLException {
+        AuditLog log = new AuditLog();
+        log.setId(rs.getString("id"));
+        log.setUserId(rs.getString("user_id"));
+        log.setUserName(rs.getString("user_name"));
+        log.setActionType(ActionType.valueOf(rs.getString("action_type")));
+
+        int accessLevelInt = rs.getInt("access_level");
+        if (!rs.wasNull()) {
+            log.setAccessLevel(AccessLevel.fromLevel(accessLevelInt));
+        }
+
+        log.setSuccess(rs.getBoolean("success"));
+        log.setIpAddress(rs.getString("ip_address"));
+        log.setDescription(rs.getString("description"));
+        log.setTimestamp(rs.getTimestamp("timestamp"));
+        log.setBiometricScore(rs.getDouble("biometric_score"));
+
+        return log;
+    }
+
+    @FunctionalInterface
+    public interface AuditLogVisitor {
+        void visit(AuditLog log) throws SQLException;
+    }
+
+    // Posição da última linha lida; ids desempatam logs com o mesmo timestamp
+    public static class PageCursor {
+        private final Timestamp timestamp;
+        private final String id;
+
+        public PageCursor(Timestamp timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        static PageCursor after(AuditLog log) {
+            Date date = log.getTimestamp();
+            // Mantém a precisão do banco (o Timestamp lido do ResultSet carrega os nanos)
+            Timestamp timestamp = date instanceof Timestamp
+                    ? (Timestamp) date
+                    : new Timestamp(date.getTime());
+            return new PageCursor(timestamp, log.getId());
+        }
+
+        public Timestamp getTimestamp() {
+            return timestamp;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    public static class Page {
+        private final List<AuditLog> logs;
+        private final PageCursor nextCursor;
+
+        public Page(List<AuditLog> logs, PageCursor nextCursor) {
+            this.logs = logs;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<AuditLog> getLogs() {
+            return logs;
+        }
+
+        public PageCursor getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.apsbiometria.aps_biometria.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.apsbiometria.aps_biometria.biometric.BiometricMatcher;
+import com.apsbiometria.aps_biometria.biometric.FeatureExtractor;
+import com.apsbiometria.aps_biometria.biometric.FeatureMatrix;
+import com.apsbiometria.aps_biometria.biometric.HnswIndex;
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.BiometricData;
+
+public class BiometricGallery {
+
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private static final int DEFAULT_HNSW_EF_SEARCH = 64;
+    private static final int DEFAULT_HNSW_RERANK_SIZE = 16;
+
+    private static BiometricGallery instance;
+    private final FeatureMatrix matrix;
+    private final ReadWriteLock lock;
+    private volatile boolean loaded;
+    private volatile HnswIndex approximateIndex;
+    private final boolean approximateConfigured;
+    private boolean approximateWanted;
+    private List<IndexChange> indexChanges; // não null enquanto um índice novo é construído
+    private volatile boolean compactionNeeded;
+    private int efSearch;
+    private int rerankSize;
+
+    // Alteração feita na galeria durante a construção de um índice; vector null = remoção
+    private static final class IndexChange {
+        static final IndexChange CLEAR = new IndexChange(null, null);
+
+        final String id;
+        final double[] vector;
+
+        IndexChange(String id, double[] vector) {
+            this.id = id;
+            this.vector = vector;
+        }
+
+        void applyTo(HnswIndex index) {
+            if (this == CLEAR) {
+                index.clear();
+            } else if (vector == null) {
+                index.markDeleted(id);
+            } else {
+                index.insert(id, vector);
+            }
+        }
+    }
+
+    private BiometricGallery() {
+        this.matrix = new FeatureMatrix(FeatureExtractor.VECTOR_SIZE);
+        this.lock = new ReentrantReadWriteLock();
+        this.loaded = false;
+        this.approximateConfigured = "true".equalsIgnoreCase(System.getProperty("biometria.gallery.hnsw"));
+        this.efSearch = Integer.getInteger("biometria.gallery.hnsw.efSearch", DEFAULT_HNSW_EF_SEARCH);
+        this.rerankSize = Integer.getInteger("biometria.gallery.hnsw.rerank", DEFAULT_HNSW_RERANK_SIZE);
+
+        DatabaseConnection.getInstance().addInvalidationListener(this::invalidate);
+    }
+
+    public static BiometricGallery getInstance() {
+        if (instance == null) {
+            synchronized (BiometricGallery.class) {
+                if (instance == null) {
+                    instance = new BiometricGallery();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @FunctionalInterface
+    interface Loader {
+        List<BiometricData> load() throws SQLException;
+    }
+
+    // A leitura do banco acontece sob o lock de escrita: put/remove concorrentes esperam a carga
+    // terminar e são aplicados por cima dela, em vez de serem descartados por !loaded.
+    // Retorna true só para a chamada que fez a carga.
+    boolean loadIfNeeded(Loader loader) throws SQLException {
+        if (loaded) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return false;
+            }
+            List<BiometricData> activeData = loader.load();
+            clearRows();
+            for (BiometricData data : activeData) {
+                addRow(data);
+            }
+            loaded = true;
+            System.out.println("✓ Galeria biométrica carregada: " + matrix.size() + " registros");
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(BiometricData data) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (data.isActive()) {
+                addRow(data);
+            } else {
+                removeRow(data.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    void remove(String biometricId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeRow(biometricId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    void removeByUserId(String userId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                List<String> ids = new ArrayList<>();
+                for (int row = 0; row < matrix.size(); row++) {
+                    if (userId.equals(matrix.getUserId(row))) {
+                        ids.add(matrix.getId(row));
+                    }
+                }
+                for (String id : ids) {
+                    removeRow(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clearRows();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BiometricMatcher.MatchResult identify(BiometricMatcher matcher, BiometricData sample) {
+        lock.readLock().lock();
+        try {
+            if (approximateIndex != null) {
+                return identifyApproximate(matcher, sample);
+            }
+            if (matrix.size() >= PARALLEL_THRESHOLD) {
+                return matcher.identifyParallel(sample, matrix, ForkJoinPool.commonPool());
+            }
+            return matcher.identify(sample, matrix);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BiometricMatcher.MatchResult> identifyTopK(BiometricMatcher matcher, BiometricData sample,
+            int k, ForkJoinPool pool) {
+        lock.readLock().lock();
+        try {
+            return matcher.identifyTopK(sample, matrix, k, pool);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void enableApproximateSearch(int efSearch, int rerankSize) {
+        if (efSearch <= 0 || rerankSize <= 0) {
+            throw new IllegalArgumentException("efSearch e rerankSize devem ser maiores que zero");
+        }
+        lock.writeLock().lock();
+        try {
+            this.efSearch = efSearch;
+            this.rerankSize = rerankSize;
+            approximateWanted = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Até o índice ficar pronto as identificações seguem pela busca exata
+        if (approximateIndex == null) {
+            rebuildApproximateIndex();
+        }
+        System.out.println("✓ Busca aproximada (HNSW) ativada: efSearch=" + efSearch +
+                ", re-rank=" + rerankSize);
+    }
+
+    // Busca aproximada configurada por -Dbiometria.gallery.hnsw=true (efSearch e re-rank em
+    // biometria.gallery.hnsw.efSearch / biometria.gallery.hnsw.rerank)
+    void applyConfiguredSearch() {
+        if (!approximateConfigured || approximateIndex != null) {
+            return;
+        }
+        try {
+            enableApproximateSearch(efSearch, rerankSize);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Configuração HNSW inválida, mantendo busca exata: " + e.getMessage());
+        }
+    }
+
+    public void disableApproximateSearch() {
+        lock.writeLock().lock();
+        try {
+            approximateWanted = false;
+            approximateIndex = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isApproximateSearchEnabled() {
+        return approximateIndex != null;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return matrix.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private BiometricMatcher.MatchResult identifyApproximate(BiometricMatcher matcher, BiometricData sample) {
+        List<String> candidateIds = approximateIndex.search(sample.getFeatureVector(), rerankSize, efSearch);
+        BiometricData[] candidates = new BiometricData[candidateIds.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = matrix.toBiometricData(matrix.rowOf(candidateIds.get(i)));
+        }
+        return matcher.identify(sample, candidates);
+    }
+
+    private void addRow(BiometricData data) {
+        double[] vector = data.getFeatureVector();
+        if (vector == null || vector.length != matrix.getDimension()) {
+            System.err.println("Biometria ignorada na galeria (vetor inválido): " + data.getId());
+            removeRow(data.getId());
+            return;
+        }
+        matrix.add(data);
+        if (approximateIndex != null) {
+            // Reinserir o mesmo id também deixa um nó morto no índice
+            approximateIndex.insert(data.getId(), vector);
+            checkCompaction(approximateIndex);
+        }
+        if (indexChanges != null) {
+            indexChanges.add(new IndexChange(data.getId(), vector));
+        }
+    }
+
+    private void removeRow(String biometricId) {
+        matrix.remove(biometricId);
+        if (approximateIndex != null && approximateIndex.markDeleted(biometricId)) {
+            checkCompaction(approximateIndex);
+        }
+        if (indexChanges != null) {
+            indexChanges.add(new IndexChange(biometricId, null));
+        }
+    }
+
+    private void clearRows() {
+        matrix.clear();
+        if (approximateIndex != null) {
+            approximateIndex.clear();
+        }
+        if (indexChanges != null) {
+            indexChanges.clear();
+            indexChanges.add(IndexChange.CLEAR);
+        }
+    }
+
+    private void checkCompaction(HnswIndex index) {
+        if (index.getDeletedCount() > index.size()) {
+            compactionNeeded = true;
+        }
+    }
+
+    // Chamado sem lock, depois da escrita que deixou o índice com mais nós mortos que vivos
+    private void compactIfNeeded() {
+        if (compactionNeeded) {
+            rebuildApproximateIndex();
+        }
+    }
+
+    // Copia a matriz sob o lock de escrita, monta o índice sem lock nenhum (o índice atual, se
+    // houver, continua atendendo) e troca no final, reaplicando as escritas feitas no meio tempo
+    private void rebuildApproximateIndex() {
+        int dimension = matrix.getDimension();
+        String[] ids;
+        float[] vectors;
+        lock.writeLock().lock();
+        try {
+            if (indexChanges != null || !approximateWanted) {
+                return;
+            }
+            compactionNeeded = false;
+            ids = new String[matrix.size()];
+            for (int row = 0; row < ids.length; row++) {
+                ids[row] = matrix.getId(row);
+            }
+            vectors = Arrays.copyOf(matrix.getVectors(), ids.length * dimension);
+            indexChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        HnswIndex index = new HnswIndex(dimension);
+        boolean built = false;
+        try {
+            double[] vector = new double[dimension];
+            for (int row = 0; row < ids.length; row++) {
+                for (int i = 0; i < dimension; i++) {
+                    vector[i] = vectors[row * dimension + i];
+                }
+                index.insert(ids[row], vector);
+            }
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                List<IndexChange> changes = indexChanges;
+                indexChanges = null;
+                if (built && approximateWanted) {
+                    for (IndexChange change : changes) {
+                        change.applyTo(index);
+                    }
+                    approximateIndex = index;
+                    checkCompaction(index);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
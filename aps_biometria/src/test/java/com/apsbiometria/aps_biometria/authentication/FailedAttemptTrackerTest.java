@@ -0,0 +1,101 @@
+package com.apsbiometria.aps_biometria.authentication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.apsbiometria.aps_biometria.model.AccessLevel;
+import com.apsbiometria.aps_biometria.model.User;
+import com.apsbiometria.aps_biometria.repository.UserRepository;
+
+class FailedAttemptTrackerTest {
+
+	private UserRepository userRepo;
+	private User user;
+
+	@BeforeEach
+	void createUser() throws SQLException {
+		userRepo = new UserRepository();
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		user = userRepo.create(new User("Bloqueio " + suffix, "bloqueio-" + suffix + "@exemplo.com",
+				String.valueOf(10000000000L + (long) (Math.random() * 89999999999L)), AccessLevel.NIVEL_1));
+	}
+
+	@Test
+	void concurrentFailuresAreAllCountedAndLockOnce() throws Exception {
+		FailedAttemptTracker tracker = new FailedAttemptTracker();
+		int threads = 8;
+		int failuresPerThread = 25;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger locks = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < failuresPerThread; i++) {
+						if (tracker.recordFailure(user)) {
+							locks.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		tracker.shutdown();
+
+		assertEquals(1, locks.get());
+		assertTrue(tracker.isLocked(user.getId()));
+		User stored = userRepo.findById(user.getId());
+		assertEquals(threads * failuresPerThread, stored.getFailedAttempts());
+		assertTrue(stored.isLocked());
+	}
+
+	@Test
+	void persistedFailuresSurviveRestart() throws SQLException {
+		FailedAttemptTracker first = new FailedAttemptTracker();
+		first.recordFailure(userRepo.findById(user.getId()));
+		first.recordFailure(userRepo.findById(user.getId()));
+		first.shutdown();
+		assertEquals(2, userRepo.findById(user.getId()).getFailedAttempts());
+
+		// Novo processo: a janela em memória começa vazia, o contador parte do banco
+		FailedAttemptTracker restarted = new FailedAttemptTracker();
+		assertFalse(restarted.recordFailure(userRepo.findById(user.getId())));
+		restarted.shutdown();
+
+		User stored = userRepo.findById(user.getId());
+		assertEquals(3, stored.getFailedAttempts());
+		assertFalse(stored.isLocked());
+	}
+
+	@Test
+	void resetClearsPersistedFailures() throws SQLException {
+		FailedAttemptTracker tracker = new FailedAttemptTracker();
+		tracker.recordFailure(userRepo.findById(user.getId()));
+		tracker.reset(user.getId(), true);
+		tracker.shutdown();
+
+		assertEquals(0, userRepo.findById(user.getId()).getFailedAttempts());
+	}
+}
@@ -0,0 +1,97 @@
+package com.apsbiometria.aps_biometria.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+
+	private static final String SELECT = "SELECT X FROM SYSTEM_RANGE(1, ?)";
+
+	private ConnectionPool pool;
+
+	@BeforeEach
+	void startPool() throws SQLException {
+		// Uma única conexão física: toda chamada a getConnection reaproveita o mesmo cache
+		pool = new ConnectionPool("jdbc:h2:mem:pool_" + System.nanoTime(), "sa", "", 1, 1, 60_000, 1_000, 4);
+	}
+
+	@AfterEach
+	void stopPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	void reusesStatementsAndCountsHitsAndMisses() throws SQLException {
+		assertEquals(6, sumOfRange(3));
+		assertEquals(0, pool.getStatementCacheHits());
+		assertEquals(1, pool.getStatementCacheMisses());
+
+		// Mesmo SQL em outro empréstimo da conexão: parâmetros novos, statement do cache
+		assertEquals(15, sumOfRange(5));
+		assertEquals(1, pool.getStatementCacheHits());
+		assertEquals(1, pool.getStatementCacheMisses());
+
+		try (Connection conn = pool.getConnection();
+				PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+			stmt.executeQuery().close();
+		}
+		assertEquals(1, pool.getStatementCacheHits());
+		assertEquals(2, pool.getStatementCacheMisses());
+	}
+
+	@Test
+	void closingCachedStatementClosesItsResultSet() throws SQLException {
+		ResultSet leaked;
+		try (Connection conn = pool.getConnection()) {
+			PreparedStatement stmt = conn.prepareStatement(SELECT);
+			stmt.setInt(1, 10);
+			leaked = stmt.executeQuery();
+			assertTrue(leaked.next());
+			stmt.close();
+
+			assertTrue(leaked.isClosed());
+			assertTrue(stmt.isClosed());
+			assertThrows(SQLException.class, stmt::executeQuery);
+		}
+	}
+
+	@Test
+	void statementsLeftOpenAreReturnedWhenConnectionCloses() throws SQLException {
+		ResultSet leaked;
+		try (Connection conn = pool.getConnection()) {
+			PreparedStatement stmt = conn.prepareStatement(SELECT);
+			stmt.setInt(1, 10);
+			leaked = stmt.executeQuery();
+		}
+		assertTrue(leaked.isClosed());
+
+		assertEquals(6, sumOfRange(3));
+		assertEquals(1, pool.getStatementCacheHits());
+		assertFalse(pool.isClosed());
+	}
+
+	private long sumOfRange(int n) throws SQLException {
+		long sum = 0;
+		try (Connection conn = pool.getConnection();
+				PreparedStatement stmt = conn.prepareStatement(SELECT)) {
+			stmt.setInt(1, n);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					sum += rs.getLong(1);
+				}
+			}
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,62 @@
+package com.apsbiometria.aps_biometria.database;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class FeatureVectorCodecTest {
+
+	@Test
+	void encodesVersionByteAndLittleEndianFloats() {
+		byte[] encoded = FeatureVectorCodec.encode(new double[] { 1.0, -2.5 });
+
+		assertEquals(1 + 2 * Float.BYTES, encoded.length);
+		assertEquals(FeatureVectorCodec.VERSION_FLOAT32, encoded[0]);
+		// 1.0f = 0x3F800000, -2.5f = 0xC0200000, byte menos significativo primeiro
+		assertArrayEquals(new byte[] { 0x00, 0x00, (byte) 0x80, 0x3F }, slice(encoded, 1, 4));
+		assertArrayEquals(new byte[] { 0x00, 0x00, 0x20, (byte) 0xC0 }, slice(encoded, 5, 4));
+	}
+
+	@Test
+	void roundTripKeepsFloatPrecision() {
+		double[] vector = new double[128];
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] = Math.sin(i) / (i + 1);
+		}
+
+		double[] decoded = FeatureVectorCodec.decode(FeatureVectorCodec.encode(vector));
+
+		assertEquals(vector.length, decoded.length);
+		for (int i = 0; i < vector.length; i++) {
+			assertEquals((float) vector[i], decoded[i], 0.0);
+		}
+	}
+
+	@Test
+	void convertsLegacyTextVectors() {
+		double[] legacy = FeatureVectorCodec.decodeLegacy("0.5, 0.25,1,-0.125");
+
+		assertArrayEquals(new double[] { 0.5, 0.25, 1.0, -0.125 }, legacy, 0.0);
+		assertArrayEquals(legacy, FeatureVectorCodec.decode(FeatureVectorCodec.encode(legacy)), 0.0);
+		assertEquals(0, FeatureVectorCodec.decodeLegacy("").length);
+	}
+
+	@Test
+	void handlesEmptyAndRejectsUnknownOrCorruptedData() {
+		assertNull(FeatureVectorCodec.encode(null));
+		assertEquals(0, FeatureVectorCodec.decode(null).length);
+		assertEquals(0, FeatureVectorCodec.decode(FeatureVectorCodec.encode(new double[0])).length);
+
+		assertThrows(IllegalArgumentException.class, () -> FeatureVectorCodec.decode(new byte[] { 2, 0, 0, 0, 0 }));
+		assertThrows(IllegalArgumentException.class, () -> FeatureVectorCodec.decode(new byte[] { 1, 0, 0 }));
+	}
+
+	private static byte[] slice(byte[] data, int offset, int length) {
+		byte[] part = new byte[length];
+		System.arraycopy(data, offset, part, 0, length);
+		return part;
+	}
+}
@@ -0,0 +1,134 @@
+package com.apsbiometria.aps_biometria.database;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaMigratorTest {
+
+	private Connection conn;
+
+	@BeforeEach
+	void openDatabase() throws SQLException {
+		conn = DriverManager.getConnection("jdbc:h2:mem:migrator_" + System.nanoTime(), "sa", "");
+	}
+
+	@AfterEach
+	void closeDatabase() throws SQLException {
+		conn.close();
+	}
+
+	@Test
+	void upgradesVersionOneDatabaseToLatest() throws SQLException {
+		createVersionOneSchema();
+		execute("INSERT INTO schema_version (version, description) VALUES (1, 'Esquema inicial')");
+		insertLegacyBiometric("bio-1", "0.5,0.25,-1.0");
+
+		int version = new SchemaMigrator(DatabaseConnection.DatabaseType.H2).migrate(conn);
+
+		assertEquals(3, version);
+		assertEquals(3, queryInt("SELECT MAX(version) FROM schema_version"));
+		assertMigratedVector("bio-1", new double[] { 0.5, 0.25, -1.0 });
+		assertTrue(indexExists("IDX_AUDIT_TIMESTAMP_ID"));
+		assertFalse(indexExists("IDX_AUDIT_TIMESTAMP"));
+	}
+
+	@Test
+	void databaseWithoutSchemaVersionIsUpgradedInPlace() throws SQLException {
+		// Bancos criados antes do migrador: tabelas existem, mas não há schema_version
+		createVersionOneSchema();
+		execute("DROP TABLE schema_version");
+		insertLegacyBiometric("bio-1", "1,2,3");
+
+		assertEquals(3, new SchemaMigrator(DatabaseConnection.DatabaseType.H2).migrate(conn));
+		assertMigratedVector("bio-1", new double[] { 1, 2, 3 });
+	}
+
+	@Test
+	void interruptedMigrationIsReappliedOnNextStart() throws SQLException {
+		createVersionOneSchema();
+		execute("INSERT INTO schema_version (version, description) VALUES (1, 'Esquema inicial')");
+		insertLegacyBiometric("bio-1", "0.75");
+		// DDL da V2 já aplicado (commit implícito do H2), mas sem a linha de versão
+		execute("ALTER TABLE biometric_data ADD COLUMN feature_vector_bin VARBINARY");
+		execute("ALTER TABLE biometric_data ALTER COLUMN feature_vector DROP NOT NULL");
+
+		assertEquals(3, new SchemaMigrator(DatabaseConnection.DatabaseType.H2).migrate(conn));
+		assertMigratedVector("bio-1", new double[] { 0.75 });
+	}
+
+	@Test
+	void rerunOnLatestVersionIsNoOp() throws SQLException {
+		SchemaMigrator migrator = new SchemaMigrator(DatabaseConnection.DatabaseType.H2);
+		assertEquals(3, migrator.migrate(conn));
+		assertEquals(3, migrator.migrate(conn));
+		assertEquals(3, queryInt("SELECT COUNT(*) FROM schema_version"));
+	}
+
+	// Esquema como a V1 o cria: vetor em texto NOT NULL e índice só por timestamp
+	private void createVersionOneSchema() throws SQLException {
+		execute("CREATE TABLE schema_version (version INTEGER PRIMARY KEY, description VARCHAR(255) NOT NULL, " +
+				"applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+		execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+				"email VARCHAR(255) UNIQUE NOT NULL, cpf VARCHAR(14) UNIQUE NOT NULL, access_level INTEGER NOT NULL, " +
+				"department VARCHAR(255), active BOOLEAN DEFAULT TRUE, " +
+				"registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, last_access_date TIMESTAMP, " +
+				"failed_attempts INTEGER DEFAULT 0, locked BOOLEAN DEFAULT FALSE)");
+		execute("CREATE TABLE biometric_data (id VARCHAR(36) PRIMARY KEY, user_id VARCHAR(36) NOT NULL, " +
+				"biometric_type VARCHAR(50) NOT NULL, feature_vector TEXT NOT NULL, template TEXT, " +
+				"quality_score DOUBLE NOT NULL, capture_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+				"last_update_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, active BOOLEAN DEFAULT TRUE, " +
+				"FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+		execute("CREATE TABLE audit_logs (id VARCHAR(36) PRIMARY KEY, user_id VARCHAR(36), user_name VARCHAR(255), " +
+				"action_type VARCHAR(50) NOT NULL, access_level INTEGER, success BOOLEAN NOT NULL, " +
+				"ip_address VARCHAR(45), description TEXT, timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+				"biometric_score DOUBLE, FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL)");
+		execute("CREATE INDEX idx_audit_timestamp ON audit_logs(timestamp)");
+		execute("INSERT INTO users (id, name, email, cpf, access_level) " +
+				"VALUES ('user-1', 'Teste', 'teste@exemplo.com', '00000000000', 1)");
+	}
+
+	private void insertLegacyBiometric(String id, String vector) throws SQLException {
+		execute("INSERT INTO biometric_data (id, user_id, biometric_type, feature_vector, quality_score) " +
+				"VALUES ('" + id + "', 'user-1', 'FACIAL', '" + vector + "', 90.0)");
+	}
+
+	private void assertMigratedVector(String id, double[] expected) throws SQLException {
+		try (Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery(
+						"SELECT feature_vector, feature_vector_bin FROM biometric_data WHERE id = '" + id + "'")) {
+			assertTrue(rs.next());
+			assertNull(rs.getString("feature_vector"));
+			assertArrayEquals(expected, FeatureVectorCodec.decode(rs.getBytes("feature_vector_bin")), 0.0);
+		}
+	}
+
+	private boolean indexExists(String name) throws SQLException {
+		return queryInt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = '" + name + "'") > 0;
+	}
+
+	private int queryInt(String sql) throws SQLException {
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Statement stmt = conn.createStatement()) {
+			stmt.execute(sql);
+		}
+	}
+}
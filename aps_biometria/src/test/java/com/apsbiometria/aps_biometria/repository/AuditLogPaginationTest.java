@@ -0,0 +1,120 @@
+package com.apsbiometria.aps_biometria.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.apsbiometria.aps_biometria.database.AuditLogPartitions;
+import com.apsbiometria.aps_biometria.database.DatabaseConnection;
+import com.apsbiometria.aps_biometria.model.AccessLevel;
+import com.apsbiometria.aps_biometria.model.AuditLog;
+import com.apsbiometria.aps_biometria.model.User;
+
+class AuditLogPaginationTest {
+
+	private AuditLogRepository repository;
+	private String userId;
+	private int inserted;
+
+	@BeforeEach
+	void createLogsAcrossPartitions() throws SQLException {
+		repository = new AuditLogRepository();
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		User user = new UserRepository().create(new User("Paginação " + suffix, "paginacao-" + suffix + "@exemplo.com",
+				String.valueOf(10000000000L + (long) (Math.random() * 89999999999L)), AccessLevel.NIVEL_1));
+		userId = user.getId();
+
+		// Três meses de partições; os limites de cada mês têm vários logs com o mesmo timestamp
+		ZoneId zone = ZoneId.systemDefault();
+		YearMonth current = YearMonth.now();
+		List<AuditLog> logs = new ArrayList<>();
+		for (int m = 0; m < 3; m++) {
+			YearMonth month = current.minusMonths(m);
+			long start = month.atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+			long end = month.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+			for (int i = 0; i < 3; i++) {
+				logs.add(log(start));
+				logs.add(log(end));
+			}
+			logs.add(log((start + end) / 2));
+		}
+		inserted = repository.createBatch(logs);
+
+		// Histórico anterior ao particionamento continua na tabela original
+		long legacy = current.minusMonths(6).atDay(15).atStartOfDay(zone).toInstant().toEpochMilli();
+		try (Connection conn = DatabaseConnection.getInstance().getConnection();
+				PreparedStatement stmt = conn.prepareStatement("INSERT INTO " + AuditLogPartitions.LEGACY_TABLE +
+						" (id, user_id, action_type, success, timestamp) VALUES (?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < 2; i++) {
+				stmt.setString(1, UUID.randomUUID().toString());
+				stmt.setString(2, userId);
+				stmt.setString(3, AuditLog.ActionType.LOGIN_ATTEMPT.name());
+				stmt.setBoolean(4, true);
+				stmt.setTimestamp(5, new Timestamp(legacy));
+				stmt.executeUpdate();
+				inserted++;
+			}
+		}
+	}
+
+	@Test
+	void keysetPagesMatchFullReadAcrossPartitions() throws SQLException {
+		AuditLogQuery query = AuditLogQuery.byUserId(userId);
+		List<String> expected = ids(repository.findAll(query));
+		assertEquals(inserted, expected.size());
+
+		for (int pageSize : new int[] { 1, 2, 3, 7, inserted, inserted + 1 }) {
+			List<String> paged = new ArrayList<>();
+			AuditLogRepository.PageCursor cursor = null;
+			int pages = 0;
+			do {
+				AuditLogRepository.Page page = repository.findPage(query, cursor, pageSize);
+				assertTrue(page.getLogs().size() <= pageSize);
+				paged.addAll(ids(page.getLogs()));
+				cursor = page.getNextCursor();
+				pages++;
+			} while (cursor != null && pages <= inserted);
+
+			assertEquals(expected, paged, "Tamanho de página " + pageSize);
+			assertEquals(paged.size(), new HashSet<>(paged).size());
+		}
+
+		assertEquals(expected, ids(repository.stream(query, 4).toList()));
+	}
+
+	@Test
+	void recentLogsAreReadInTimestampOrder() throws SQLException {
+		List<AuditLog> recent = repository.findRecent(5);
+		assertEquals(5, recent.size());
+		for (int i = 1; i < recent.size(); i++) {
+			assertTrue(!recent.get(i).getTimestamp().after(recent.get(i - 1).getTimestamp()));
+		}
+	}
+
+	private AuditLog log(long millis) {
+		AuditLog log = new AuditLog(userId, "Paginação", AuditLog.ActionType.LOGIN_ATTEMPT, true, "Teste de paginação");
+		log.setTimestamp(new Timestamp(millis));
+		return log;
+	}
+
+	private static List<String> ids(List<AuditLog> logs) {
+		List<String> ids = new ArrayList<>(logs.size());
+		for (AuditLog log : logs) {
+			ids.add(log.getId());
+		}
+		return ids;
+	}
+}